@@ -0,0 +1,18 @@
+package org.example.benchmarks;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Runs JMH with the GC profiler enabled, so every result comes with its allocation rate. All the usual JMH
+ * options still apply, e.g. {@code java -jar target/benchmarks.jar RenderBenchmark -p columns=50}.
+ */
+public class BenchmarkMain {
+
+    public static void main(String[] args) throws Exception {
+        List<String> jmhArgs = new ArrayList<>(List.of("-prof", "gc"));
+        jmhArgs.addAll(Arrays.asList(args));
+        org.openjdk.jmh.Main.main(jmhArgs.toArray(new String[0]));
+    }
+}
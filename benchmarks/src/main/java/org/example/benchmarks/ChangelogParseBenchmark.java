@@ -0,0 +1,54 @@
+package org.example.benchmarks;
+
+import org.example.ChangelogReader;
+import org.example.SchemaModel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.xml.stream.XMLStreamException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Streaming parse of a whole changelog into a schema, the way {@code ChangelogTree} parses every file it reads.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ChangelogParseBenchmark {
+
+    @Param({"1", "100", "5000"})
+    int tables;
+
+    @Param({"5", "50", "200"})
+    int columns;
+
+    private byte[] changelog;
+    private ChangelogReader reader;
+
+    @Setup
+    public void setUp() {
+        changelog = SyntheticChangelog.xml(tables, columns).getBytes(StandardCharsets.UTF_8);
+        reader = new ChangelogReader();
+    }
+
+    @Benchmark
+    public SchemaModel parse() throws XMLStreamException {
+        SchemaModel schema = new SchemaModel();
+        reader.read(changelog, schema, new ArrayList<>());
+        return schema;
+    }
+}
@@ -0,0 +1,66 @@
+package org.example.benchmarks;
+
+import org.example.SpringBootFileGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The name and type helpers called for every table and column.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NameConversionBenchmark {
+
+    private final String[] snakeNames = {"id", "first_name", "shipping_address_line_1", "created_by_user_id", "x"};
+    private final String[] camelNames = {"id", "firstName", "shippingAddressLine1", "createdByUserId", "x"};
+    private final String[] types = {"varchar", "bigint", "int", "boolean", "decimal", "timestamp"};
+
+    @Benchmark
+    public void toCamelCase(Blackhole blackhole) {
+        for (String name : snakeNames) {
+            blackhole.consume(SpringBootFileGenerator.toCamelCase(name));
+        }
+    }
+
+    @Benchmark
+    public void toSnakeCase(Blackhole blackhole) {
+        for (String name : camelNames) {
+            blackhole.consume(SpringBootFileGenerator.toSnakeCase(name));
+        }
+    }
+
+    @Benchmark
+    public void lowerFirstChar(Blackhole blackhole) {
+        for (String name : camelNames) {
+            blackhole.consume(SpringBootFileGenerator.lowerFirstChar(name));
+        }
+    }
+
+    @Benchmark
+    public void capitalize(Blackhole blackhole) {
+        for (String name : camelNames) {
+            blackhole.consume(SpringBootFileGenerator.capitalize(name));
+        }
+    }
+
+    @Benchmark
+    public void getColumnType(Blackhole blackhole) {
+        for (String type : types) {
+            blackhole.consume(SpringBootFileGenerator.getColumnType(type));
+        }
+    }
+}
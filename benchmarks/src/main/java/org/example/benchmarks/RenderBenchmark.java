@@ -0,0 +1,59 @@
+package org.example.benchmarks;
+
+import org.example.Artifact;
+import org.example.ArtifactRenderer;
+import org.example.TableModel;
+import org.example.TemplateScope;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Building the per-table model that templates render from, and rendering each artifact from it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RenderBenchmark {
+
+    @Param({"ENTITY", "DTO", "SERVICE", "SERVICE_IMPL", "RESOURCE", "REPOSITORY", "MAPPER"})
+    Artifact artifact;
+
+    @Param({"5", "50", "200"})
+    int columns;
+
+    private ArtifactRenderer renderer;
+    private TableModel table;
+    private TemplateScope scope;
+
+    @Setup
+    public void setUp() throws IOException {
+        renderer = ArtifactRenderer.load();
+        table = SyntheticChangelog.table(0, columns);
+        scope = renderer.scope(table, "com.example");
+    }
+
+    @Benchmark
+    public TemplateScope model() {
+        return renderer.scope(table, "com.example");
+    }
+
+    @Benchmark
+    public String render() {
+        return renderer.render(artifact, scope);
+    }
+}
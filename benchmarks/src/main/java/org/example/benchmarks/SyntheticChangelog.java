@@ -0,0 +1,56 @@
+package org.example.benchmarks;
+
+import org.example.ColumnModel;
+import org.example.SpringBootFileGenerator;
+import org.example.TableModel;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Builds changelogs and table models of a given size, with a mix of column types close to a real schema.
+ */
+final class SyntheticChangelog {
+
+    private static final String[] TYPES = {"varchar(255)", "bigint", "int", "boolean", "decimal(19,2)", "timestamp", "double"};
+
+    private SyntheticChangelog() {
+    }
+
+    static String xml(int tables, int columns) {
+        StringBuilder xml = new StringBuilder(tables * (columns * 60 + 300));
+        xml.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n")
+                .append("<databaseChangeLog xmlns=\"http://www.liquibase.org/xml/ns/dbchangelog\">\n");
+        for (int table = 0; table < tables; table++) {
+            xml.append("    <changeSet id=\"").append(table).append("\" author=\"benchmark\">\n")
+                    .append("        <createTable tableName=\"").append(tableName(table)).append("\">\n")
+                    .append("            <column name=\"id\" type=\"bigint\">\n")
+                    .append("                <constraints primaryKey=\"true\" nullable=\"false\"/>\n")
+                    .append("            </column>\n");
+            for (int column = 0; column < columns; column++) {
+                xml.append("            <column name=\"").append(columnName(column)).append("\" type=\"")
+                        .append(TYPES[column % TYPES.length]).append("\"/>\n");
+            }
+            xml.append("        </createTable>\n")
+                    .append("    </changeSet>\n");
+        }
+        return xml.append("</databaseChangeLog>\n").toString();
+    }
+
+    static TableModel table(int index, int columns) {
+        List<ColumnModel> columnModels = new ArrayList<>(columns);
+        for (int column = 0; column < columns; column++) {
+            columnModels.add(ColumnModel.of(SpringBootFileGenerator.toCamelCase(columnName(column)),
+                    TYPES[column % TYPES.length], true));
+        }
+        return new TableModel(SpringBootFileGenerator.toCamelCase(tableName(index)), columnModels);
+    }
+
+    static String tableName(int index) {
+        return "customer_order_line_" + index;
+    }
+
+    static String columnName(int index) {
+        return "shipping_address_line_" + index;
+    }
+}
@@ -0,0 +1,115 @@
+package org.example.benchmarks;
+
+import org.example.Artifact;
+import org.example.ArtifactRenderer;
+import org.example.DirectoryOutputSink;
+import org.example.InMemoryOutputSink;
+import org.example.OutputSink;
+import org.example.TemplateScope;
+import org.example.ZipOutputSink;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Writing the seven rendered files of one table through each output sink.
+ * <p>
+ * The directory sink rewrites the files of a thousand tables in turn, the way a regeneration does. The zip sink only
+ * compresses when it is closed, so every invocation builds a whole archive of the one table into a discarding
+ * output: the measurement covers the compression rather than the size of the disk, and the heap does not fill up.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WriteBenchmark {
+
+    @Param({"directory", "zip", "memory"})
+    String sinkType;
+
+    @Param({"5", "50"})
+    int columns;
+
+    private final Map<Artifact, String> contents = new EnumMap<>(Artifact.class);
+    private Path directory;
+    private OutputSink sink;
+    private int table;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        ArtifactRenderer renderer = ArtifactRenderer.load();
+        TemplateScope scope = renderer.scope(SyntheticChangelog.table(0, columns), "com.example");
+        for (Artifact artifact : renderer.artifacts()) {
+            contents.put(artifact, renderer.render(artifact, scope));
+        }
+        directory = Files.createTempDirectory("generator-write-benchmark");
+    }
+
+    @Setup(Level.Iteration)
+    public void openSink() throws IOException {
+        table = 0;
+        sink = switch (sinkType) {
+            case "directory" -> new DirectoryOutputSink(directory);
+            case "zip" -> null;
+            default -> new InMemoryOutputSink();
+        };
+    }
+
+    @Benchmark
+    public void writeTable() throws Exception {
+        if (sink == null) {
+            try (OutputSink archive = new ZipOutputSink(OutputStream.nullOutputStream(), false)) {
+                write(archive, "table0");
+            }
+            return;
+        }
+        // Files and map entries are replaced after a thousand tables
+        write(sink, "table" + table++ % 1_000);
+    }
+
+    private void write(OutputSink target, String tableName) {
+        CompletableFuture<?>[] writes = new CompletableFuture<?>[contents.size()];
+        int i = 0;
+        for (Map.Entry<Artifact, String> content : contents.entrySet()) {
+            writes[i++] = target.write(content.getKey().relativePath("com.example", tableName), content.getValue());
+        }
+        CompletableFuture.allOf(writes).join();
+    }
+
+    @TearDown(Level.Iteration)
+    public void closeSink() throws Exception {
+        if (sink != null) {
+            sink.close();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+}
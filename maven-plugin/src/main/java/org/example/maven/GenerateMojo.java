@@ -0,0 +1,269 @@
+package org.example.maven;
+
+import org.apache.maven.plugin.AbstractMojo;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugins.annotations.LifecyclePhase;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+import org.apache.maven.project.MavenProject;
+import org.example.ArtifactRenderer;
+import org.example.ChangelogCache;
+import org.example.ChangelogReader;
+import org.example.ChangelogTree;
+import org.example.DirectoryOutputSink;
+import org.example.GenerationEngine;
+import org.example.GenerationManifest;
+import org.example.GenerationMetrics;
+import org.example.GeneratorOptions;
+import org.example.SchemaModel;
+import org.example.TableModel;
+import org.example.Target;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Generates the sources of every table of a Liquibase changelog inside the Maven JVM, and adds them to the
+ * compile source roots.
+ * <p>
+ * The changelogs the master includes, the templates, the type mappings and the generator itself are the inputs,
+ * and the output directory holds the result. When neither the inputs nor the options changed since the last
+ * successful run, and every generated file is still there, the goal returns without parsing anything. Otherwise
+ * the manifest and the changelog cache of the output directory keep the run incremental, as on the command line.
+ */
+@Mojo(name = "generate", defaultPhase = LifecyclePhase.GENERATE_SOURCES, threadSafe = true)
+public class GenerateMojo extends AbstractMojo {
+
+    @Parameter(defaultValue = "${project}", readonly = true, required = true)
+    private MavenProject project;
+
+    /**
+     * The master changelog; the files it includes are read as well.
+     */
+    @Parameter(property = "springboot.generator.changelog",
+            defaultValue = "${project.basedir}/src/main/resources/config/liquibase/master.xml", required = true)
+    private File changelog;
+
+    @Parameter(property = "springboot.generator.package", defaultValue = "com.example", required = true)
+    private String basePackage;
+
+    @Parameter(property = "springboot.generator.outputDirectory",
+            defaultValue = "${project.build.directory}/generated-sources/springboot-file-generator", required = true)
+    private File outputDirectory;
+
+    /**
+     * Where the load tests go, with {@code loadTests}; added to the test compile source roots.
+     */
+    @Parameter(property = "springboot.generator.testOutputDirectory",
+            defaultValue = "${project.build.directory}/generated-test-sources/springboot-file-generator", required = true)
+    private File testOutputDirectory;
+
+    /**
+     * Directory whose templates replace the built-in ones of the same name.
+     */
+    @Parameter(property = "springboot.generator.templates")
+    private File templates;
+
+    @Parameter(property = "springboot.generator.target", defaultValue = "jpa")
+    private String target;
+
+    /**
+     * File of {@code sqlType=java.type.Name} lines added to the default type mappings.
+     */
+    @Parameter(property = "springboot.generator.types")
+    private File types;
+
+    @Parameter(property = "springboot.generator.keyset")
+    private boolean keyset;
+
+    @Parameter(property = "springboot.generator.keysetColumn")
+    private String keysetColumn;
+
+    @Parameter(property = "springboot.generator.batch")
+    private boolean batch;
+
+    @Parameter(property = "springboot.generator.batchSize")
+    private Integer batchSize;
+
+    @Parameter(property = "springboot.generator.allocationSize")
+    private Integer allocationSize;
+
+    @Parameter(property = "springboot.generator.sequenceName")
+    private String sequenceName;
+
+    @Parameter(property = "springboot.generator.cache")
+    private boolean cache;
+
+    @Parameter(property = "springboot.generator.cacheSize")
+    private Integer cacheSize;
+
+    @Parameter(property = "springboot.generator.cacheTtl")
+    private Long cacheTtl;
+
+    @Parameter(property = "springboot.generator.secondLevelCache")
+    private boolean secondLevelCache;
+
+    @Parameter(property = "springboot.generator.projections")
+    private boolean projections;
+
+    @Parameter(property = "springboot.generator.fetchSize")
+    private Integer fetchSize;
+
+    @Parameter(property = "springboot.generator.export")
+    private boolean export;
+
+    @Parameter(property = "springboot.generator.optimisticLocking")
+    private boolean optimisticLocking;
+
+    @Parameter(property = "springboot.generator.versionColumn")
+    private String versionColumn;
+
+    @Parameter(property = "springboot.generator.timed")
+    private boolean timed;
+
+    @Parameter(property = "springboot.generator.loadTests")
+    private boolean loadTests;
+
+    /**
+     * Generates even when the inputs did not change; unchanged tables are still skipped through the manifest.
+     */
+    @Parameter(property = "springboot.generator.force")
+    private boolean force;
+
+    @Parameter(property = "springboot.generator.skip")
+    private boolean skip;
+
+    @Override
+    public void execute() throws MojoExecutionException {
+        if (skip) {
+            getLog().info("Skipping the generation");
+            return;
+        }
+
+        Path root = outputDirectory.toPath().toAbsolutePath().normalize();
+        // The sources are compiled whether they were generated now or by an earlier build
+        project.addCompileSourceRoot(root.toString());
+        if (loadTests) {
+            project.addTestCompileSourceRoot(testOutputDirectory.getAbsolutePath());
+        }
+
+        try {
+            GeneratorOptions options = options(root);
+            // Cheap enough to check on every build: the templates are only compiled when something changed. The stamp
+            // only lists the changelogs of the last run, so the master and the directories are part of the fingerprint
+            String fingerprint = GenerationManifest.hash(options + "\t" + basePackage + "\t" + changelog.getAbsolutePath()
+                    + "\t" + root + "\t" + testOutputDirectory.getAbsolutePath());
+            List<Path> configuration = new ArrayList<>();
+            configuration.add(Path.of(ArtifactRenderer.class.getProtectionDomain().getCodeSource().getLocation().toURI()));
+            if (templates != null) {
+                configuration.add(templates.toPath().toAbsolutePath());
+            }
+            if (types != null) {
+                configuration.add(types.toPath().toAbsolutePath());
+            }
+            InputStamp stamp = new InputStamp(root);
+            if (!force && stamp.isUpToDate(fingerprint) && GenerationManifest.load(root).hasAllFiles()) {
+                getLog().info("The generated sources are up to date");
+                return;
+            }
+            stamp.delete();
+
+            ArtifactRenderer renderer = ArtifactRenderer.load(templates == null ? null : templates.toPath(), options);
+            Set<Path> inputs = new HashSet<>(generate(root, renderer));
+            inputs.addAll(configuration);
+            stamp.save(fingerprint, inputs);
+        } catch (MojoExecutionException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new MojoExecutionException("Cannot generate the sources of " + changelog + " : " + e.getMessage(), e);
+        }
+    }
+
+    private Set<Path> generate(Path root, ArtifactRenderer renderer) throws Exception {
+        int threads = Runtime.getRuntime().availableProcessors();
+        ChangelogCache changelogs = ChangelogCache.load(root);
+        ChangelogTree tree;
+        GenerationMetrics metrics;
+        try (GenerationEngine engine = new GenerationEngine(basePackage, new DirectoryOutputSink(root),
+                GenerationManifest.load(root), renderer, threads)) {
+            tree = new ChangelogTree(new ChangelogReader(engine.metrics()), changelogs, threads);
+            SchemaModel schema = tree.read(changelog.toPath());
+            changelogs.save();
+            for (TableModel table : schema.tables()) {
+                engine.generateFiles(table);
+            }
+            engine.awaitCompletion();
+            // The output is a compile source root, a dropped table must not leave an entity or endpoint behind
+            Set<String> tableNames = new HashSet<>();
+            for (TableModel table : schema.tables()) {
+                tableNames.add(table.name());
+            }
+            int deleted = engine.deleteStaleTables(tableNames);
+            if (deleted > 0) {
+                getLog().info("Deleted " + deleted + " file(s) of tables no longer in the changelog");
+            }
+            metrics = engine.metrics();
+            metrics.finish();
+        }
+
+        for (GenerationMetrics.Failure failure : metrics.failures()) {
+            getLog().error("Failed to generate " + failure.table() + " : " + failure.error());
+        }
+        if (!metrics.failures().isEmpty()) {
+            throw new MojoExecutionException(metrics.failures().size() + " table(s) could not be generated");
+        }
+        getLog().info("Generated " + metrics.generatedTables() + " table(s) from " + (tree.parsedFiles() + tree.cachedFiles())
+                + " changelog(s), " + tree.parsedFiles() + " parsed, into " + root);
+        if (getLog().isDebugEnabled()) {
+            getLog().debug(metrics.summary());
+        }
+        return tree.inputs();
+    }
+
+    // Sizes and names switch their feature on, as they do on the command line
+    private GeneratorOptions options(Path root) {
+        GeneratorOptions options = new GeneratorOptions().target(Target.of(target));
+        if (types != null) {
+            options.typeMappings(types.toPath());
+        }
+        options.keysetPagination(keyset || keysetColumn != null);
+        if (keysetColumn != null) {
+            options.keysetColumn(keysetColumn);
+        }
+        options.batchWrites(batch || batchSize != null || allocationSize != null || sequenceName != null);
+        if (batchSize != null) {
+            options.batchSize(batchSize);
+        }
+        if (allocationSize != null) {
+            options.allocationSize(allocationSize);
+        }
+        if (sequenceName != null) {
+            options.sequenceName(sequenceName);
+        }
+        options.serviceCache(cache || cacheSize != null || cacheTtl != null);
+        if (cacheSize != null) {
+            options.cacheSize(cacheSize);
+        }
+        if (cacheTtl != null) {
+            options.cacheTtlSeconds(cacheTtl);
+        }
+        options.secondLevelCache(secondLevelCache).projections(projections).export(export).timed(timed);
+        if (fetchSize != null) {
+            options.fetchSize(fetchSize);
+        }
+        options.optimisticLocking(optimisticLocking || versionColumn != null);
+        if (versionColumn != null) {
+            options.versionColumn(versionColumn);
+        }
+        // The load tests are written relative to the sources, wherever the test directory is
+        options.loadTests(loadTests);
+        if (loadTests) {
+            options.testSourceRoot(root.relativize(testOutputDirectory.toPath().toAbsolutePath().normalize()).toString());
+        }
+        return options;
+    }
+}
@@ -0,0 +1,100 @@
+package org.example.maven;
+
+import org.example.GenerationManifest;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Collection;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.stream.Stream;
+
+/**
+ * What the last successful generation of an output directory was made from: the fingerprint of the options, and
+ * the size and modification time of every changelog, template and jar it depended on, kept next to the manifest.
+ * <p>
+ * Checking it only takes a stat per file and a listing per directory, so a build whose inputs did not change skips
+ * the generation without parsing or rendering anything.
+ */
+class InputStamp {
+
+    static final String FILE_NAME = ".springboot-file-generator.inputs";
+
+    private final Path stampFile;
+
+    InputStamp(Path root) {
+        this.stampFile = root.resolve(FILE_NAME);
+    }
+
+    /**
+     * Whether the stamp was written for the same fingerprint and no input changed since.
+     */
+    boolean isUpToDate(String fingerprint) throws IOException {
+        if (!Files.exists(stampFile)) {
+            return false;
+        }
+        List<String> lines = Files.readAllLines(stampFile, StandardCharsets.UTF_8);
+        if (lines.isEmpty() || !fingerprint.equals(lines.get(0))) {
+            return false;
+        }
+        for (String line : lines.subList(1, lines.size())) {
+            int separator = line.indexOf('\t');
+            if (separator < 0 || !line.equals(describe(Path.of(line.substring(0, separator))))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Written once the generation succeeded, through a temporary file, so an interrupted run never looks complete.
+     */
+    void save(String fingerprint, Collection<Path> inputs) throws IOException {
+        Files.createDirectories(stampFile.getParent());
+        Path temp = stampFile.resolveSibling(FILE_NAME + ".tmp");
+        try (BufferedWriter writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+            writer.write(fingerprint + "\n");
+            for (Path input : new TreeSet<>(inputs)) {
+                writer.write(describe(input) + "\n");
+            }
+        }
+        Files.move(temp, stampFile, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * Removed before generating, so a run that fails halfway is not mistaken for an up-to-date one.
+     */
+    void delete() throws IOException {
+        Files.deleteIfExists(stampFile);
+    }
+
+    // A directory stands for every file below it, such as the changelogs an includeAll finds in it, and a missing
+    // file for one that may appear later
+    private static String describe(Path input) throws IOException {
+        BasicFileAttributes attributes;
+        try {
+            attributes = Files.readAttributes(input, BasicFileAttributes.class);
+        } catch (NoSuchFileException e) {
+            return input + "\tmissing";
+        }
+        if (!attributes.isDirectory()) {
+            return input + "\t" + attributes.size() + "\t" + attributes.lastModifiedTime().toMillis();
+        }
+        List<Path> files;
+        try (Stream<Path> walk = Files.walk(input)) {
+            files = walk.filter(Files::isRegularFile).sorted().toList();
+        }
+        StringBuilder listing = new StringBuilder();
+        for (Path file : files) {
+            listing.append(file).append('\t').append(Files.size(file)).append('\t')
+                    .append(Files.getLastModifiedTime(file).toMillis()).append('\n');
+        }
+        return input + "\tdirectory\t" + GenerationManifest.hash(listing.toString());
+    }
+}
@@ -0,0 +1,69 @@
+package org.example.maven;
+
+import org.apache.maven.project.MavenProject;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.lang.reflect.Field;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GenerateMojoTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void switchingTheChangelogReplacesItsTables() throws Exception {
+        Path output = directory.resolve("generated");
+        Path first = changelog("first.xml", "customer");
+        Path second = changelog("second.xml", "invoice");
+
+        mojo(first, output).execute();
+        assertTrue(Files.exists(output.resolve("com/example/domain/customer.java")));
+
+        mojo(second, output).execute();
+        assertTrue(Files.exists(output.resolve("com/example/domain/invoice.java")));
+        try (Stream<Path> files = Files.walk(output)) {
+            assertEquals(List.of(), files.filter(file -> file.getFileName().toString().startsWith("customer"))
+                    .toList());
+        }
+    }
+
+    private Path changelog(String fileName, String tableName) throws Exception {
+        return Files.writeString(directory.resolve(fileName), """
+                <databaseChangeLog xmlns="http://www.liquibase.org/xml/ns/dbchangelog">
+                    <changeSet id="1" author="test">
+                        <createTable tableName="%s">
+                            <column name="id" type="bigint"><constraints primaryKey="true"/></column>
+                            <column name="name" type="varchar(50)"/>
+                        </createTable>
+                    </changeSet>
+                </databaseChangeLog>
+                """.formatted(tableName));
+    }
+
+    // Sets the parameters the way Maven injects them, without a plugin testing harness
+    private GenerateMojo mojo(Path changelog, Path output) throws Exception {
+        GenerateMojo mojo = new GenerateMojo();
+        set(mojo, "project", new MavenProject());
+        set(mojo, "changelog", changelog.toFile());
+        set(mojo, "basePackage", "com.example");
+        set(mojo, "outputDirectory", output.toFile());
+        set(mojo, "testOutputDirectory", new File(directory.toFile(), "generated-test"));
+        set(mojo, "target", "jpa");
+        return mojo;
+    }
+
+    private static void set(GenerateMojo mojo, String name, Object value) throws Exception {
+        Field field = GenerateMojo.class.getDeclaredField(name);
+        field.setAccessible(true);
+        field.set(mojo, value);
+    }
+}
@@ -0,0 +1,68 @@
+package org.example;
+
+import java.util.Locale;
+import java.util.function.Predicate;
+
+/**
+ * The files generated for every table, with the sub package they live in and the suffix of their class name. Some
+ * are only generated when an option asks for them, and tests go to the test sources instead of the main ones.
+ */
+public enum Artifact {
+    ENTITY("domain", ""),
+    DTO("service.dto", "DTO"),
+    SERVICE("service", "Service"),
+    SERVICE_IMPL("service.impl", "ServiceImpl"),
+    RESOURCE("web.rest", "Resource"),
+    REPOSITORY("repository", "Repository"),
+    MAPPER("mapper", "Mapper"),
+    VIEW("service.dto", "View", options -> options.projections() && options.target() == Target.JPA),
+    LOAD_TEST("web.rest", "ResourceLoadTest", options -> options.loadTests() && options.target() == Target.JPA, true);
+
+    private final String subPackage;
+    private final String suffix;
+    private final Predicate<GeneratorOptions> enabled;
+    private final boolean test;
+
+    Artifact(String subPackage, String suffix) {
+        this(subPackage, suffix, options -> true);
+    }
+
+    Artifact(String subPackage, String suffix, Predicate<GeneratorOptions> enabled) {
+        this(subPackage, suffix, enabled, false);
+    }
+
+    Artifact(String subPackage, String suffix, Predicate<GeneratorOptions> enabled, boolean test) {
+        this.subPackage = subPackage;
+        this.suffix = suffix;
+        this.enabled = enabled;
+        this.test = test;
+    }
+
+    public String subPackage() {
+        return subPackage;
+    }
+
+    public boolean isEnabled(GeneratorOptions options) {
+        return enabled.test(options);
+    }
+
+    public boolean isTest() {
+        return test;
+    }
+
+    public String templateName() {
+        return name().toLowerCase(Locale.ROOT) + ".java.tmpl";
+    }
+
+    public String className(String tableName) {
+        return tableName + suffix;
+    }
+
+    public String relativeDirectory(String basePackage) {
+        return (basePackage + "." + subPackage).replace('.', '/');
+    }
+
+    public String relativePath(String basePackage, String tableName) {
+        return relativeDirectory(basePackage) + "/" + className(tableName) + ".java";
+    }
+}
@@ -0,0 +1,556 @@
+package org.example;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Renders the {@link Artifact}s of a table from their compiled templates.
+ * <p>
+ * The templates ship in {@code /templates} on the classpath; a file with the same name in the override directory
+ * replaces the built-in one. A {@link Target} other than JPA looks in its own sub directory first. Each template is
+ * compiled once per renderer, and the names derived from a table are computed once per table in
+ * {@link #scope(TableModel, String)} and shared by all of its artifacts.
+ */
+public class ArtifactRenderer {
+
+    private static final String TEMPLATE_ROOT = "/templates/";
+
+    private final Map<Artifact, Template> templates;
+    private final GeneratorOptions options;
+    private final TypeRegistry types;
+    private final String fingerprint;
+
+    private ArtifactRenderer(Map<Artifact, Template> templates, GeneratorOptions options, TypeRegistry types,
+                             String fingerprint) {
+        this.templates = templates;
+        this.options = options;
+        this.types = types;
+        this.fingerprint = fingerprint;
+    }
+
+    public static ArtifactRenderer load() throws IOException {
+        return load(null);
+    }
+
+    public static ArtifactRenderer load(Path overrideDirectory) throws IOException {
+        return load(overrideDirectory, new GeneratorOptions());
+    }
+
+    public static ArtifactRenderer load(Path overrideDirectory, GeneratorOptions options) throws IOException {
+        Map<Artifact, Template> templates = new EnumMap<>(Artifact.class);
+        ByteArrayOutputStream sources = new ByteArrayOutputStream();
+
+        for (Artifact artifact : Artifact.values()) {
+            if (!artifact.isEnabled(options)) {
+                continue;
+            }
+            String source = readTemplate(overrideDirectory, options.target(), artifact.templateName());
+            templates.put(artifact, Template.compile(artifact.templateName(), source));
+            sources.writeBytes(source.getBytes(StandardCharsets.UTF_8));
+        }
+        // The code building the scopes, mapping the types and rendering the templates shapes the output as much as
+        // the templates do
+        for (Class<?> type : List.of(ArtifactRenderer.class, SpringBootFileGenerator.class, Artifact.class,
+                TypeRegistry.class, Template.class, TemplateScope.class)) {
+            sources.writeBytes(classBytes(type));
+        }
+        sources.writeBytes(options.toString().getBytes(StandardCharsets.UTF_8));
+
+        TypeRegistry types = TypeRegistry.defaults();
+        if (options.typeMappings() != null) {
+            types.load(options.typeMappings());
+        }
+        sources.writeBytes(types.toString().getBytes(StandardCharsets.UTF_8));
+
+        return new ArtifactRenderer(templates, options, types, GenerationManifest.hash(sources.toByteArray()));
+    }
+
+    // The template of the target wins over the shared one, and in both cases an override over the built-in one
+    private static String readTemplate(Path overrideDirectory, Target target, String templateName) throws IOException {
+        String source = target == Target.JPA ? null : readTemplate(overrideDirectory, target.templateDirectory() + templateName);
+        if (source == null) {
+            source = readTemplate(overrideDirectory, templateName);
+        }
+        if (source == null) {
+            throw new IOException("Template not found : " + templateName);
+        }
+        return source;
+    }
+
+    private static String readTemplate(Path overrideDirectory, String templatePath) throws IOException {
+        if (overrideDirectory != null) {
+            Path override = overrideDirectory.resolve(templatePath);
+            if (Files.exists(override)) {
+                return Files.readString(override, StandardCharsets.UTF_8);
+            }
+        }
+        try (InputStream in = ArtifactRenderer.class.getResourceAsStream(TEMPLATE_ROOT + templatePath)) {
+            return in == null ? null : new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    // Together with its nested classes, e.g. the sections of a Template, which hold the rendering logic
+    private static byte[] classBytes(Class<?> type) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        String fileName = type.getName().substring(type.getName().lastIndexOf('.') + 1) + ".class";
+        try (InputStream in = type.getResourceAsStream(fileName)) {
+            if (in != null) {
+                bytes.writeBytes(in.readAllBytes());
+            }
+        }
+        Class<?>[] nested = type.getDeclaredClasses();
+        Arrays.sort(nested, Comparator.comparing(Class::getName));
+        for (Class<?> nestedType : nested) {
+            bytes.writeBytes(classBytes(nestedType));
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Hash of every template, of the options and of the classes rendering them; changes whenever the output for the
+     * same input could.
+     */
+    public String fingerprint() {
+        return fingerprint;
+    }
+
+    /**
+     * The artifacts the options enable, in declaration order.
+     */
+    public Set<Artifact> artifacts() {
+        return templates.keySet();
+    }
+
+    /**
+     * Path of the artifact relative to the output directory; a test lives in the test source root.
+     */
+    public String relativePath(Artifact artifact, String basePackage, String tableName) {
+        String relativePath = artifact.relativePath(basePackage, tableName);
+        return artifact.isTest() ? options.testSourceRoot() + "/" + relativePath : relativePath;
+    }
+
+    public TemplateScope scope(TableModel table, String basePackage) {
+        String tableName = table.name();
+        Map<String, Object> values = new HashMap<>();
+        values.put("package", basePackage);
+        values.put("Entity", tableName);
+        values.put("entity", SpringBootFileGenerator.lowerFirstChar(tableName));
+        values.put("entity_snake", SpringBootFileGenerator.toSnakeCase(tableName));
+        TemplateScope scope = new TemplateScope(values);
+
+        if (options.keysetPagination()) {
+            keyset(table, values);
+        }
+        if (options.batchWrites()) {
+            values.put("batch", true);
+            values.put("batch_size", options.batchSize());
+            values.put("allocation_size", options.allocationSize());
+            values.put("sequence_name", options.sequenceName());
+        }
+        if (options.serviceCache()) {
+            values.put("cache", true);
+            values.put("cache_size", options.cacheSize());
+            values.put("cache_ttl", options.cacheTtlSeconds());
+        }
+        values.put("second_level_cache", options.secondLevelCache());
+        values.put("fetch_size", options.fetchSize());
+        values.put("projections", options.projections());
+        values.put("export", options.export());
+        values.put("entity_manager", options.batchWrites() || options.export());
+        // The annotation aspect would only time the assembly of a Mono or Flux, not the query it runs
+        values.put("timed", options.timed() && options.target() == Target.JPA);
+        // R2DBC entities are never merged, the reactive target keeps its plain update
+        boolean optimisticLocking = options.optimisticLocking() && options.target() == Target.JPA;
+        ColumnModel versionColumn = optimisticLocking ? versionColumn(table) : null;
+        if (optimisticLocking) {
+            String versionName = versionColumn != null ? versionColumn.name() : "version";
+            values.put("optimistic_locking", true);
+            values.put("version_field", versionColumn == null);
+            values.put("version_name", versionName);
+            values.put("version_Name", SpringBootFileGenerator.capitalize(versionName));
+        }
+
+        List<TemplateScope> columns = new ArrayList<>(table.columns().size());
+        Set<String> imports = new TreeSet<>();
+        boolean validation = false;
+        List<Map<String, Object>> mappings = new ArrayList<>();
+        Set<String> relationTargets = new TreeSet<>();
+        List<String> relationPaths = new ArrayList<>();
+        List<String> viewColumns = new ArrayList<>(table.columns().size() + 1);
+        viewColumns.add("e.id");
+        Set<String> loadTestImports = new TreeSet<>();
+        String loadTestSkipped = null;
+        for (ColumnModel column : table.columns()) {
+            TypeRegistry.JavaType javaType = types.javaType(column.type());
+            if (javaType.qualifiedName() != null) {
+                imports.add(javaType.qualifiedName());
+            }
+            boolean version = column == versionColumn;
+            // The version is set by Hibernate, a new entity comes without one
+            List<String> constraints = constraints(column, javaType);
+            if (version) {
+                constraints.remove("@NotNull");
+            }
+            validation |= !constraints.isEmpty();
+
+            Map<String, Object> columnValues = new HashMap<>();
+            columnValues.put("name", column.name());
+            columnValues.put("Name", SpringBootFileGenerator.capitalize(column.name()));
+            columnValues.put("column", SpringBootFileGenerator.toSnakeCase(column.name()));
+            columnValues.put("type", javaType.name());
+            // A NOT NULL entity field can be a primitive; the DTO keeps the wrapper so a missing value is detected.
+            // The version stays a wrapper as well, so that a null one marks a new entity
+            boolean primitive = !column.nullable() && javaType.primitive() != null && !version;
+            columnValues.put("field_type", primitive ? javaType.primitive() : javaType.name());
+            columnValues.put("column_attributes", columnAttributes(column, javaType));
+            columnValues.put("lob", javaType.lob());
+            columnValues.put("version", version);
+            columnValues.put("constraints", constraints);
+            // A foreign key to the id of another table becomes a lazy @ManyToOne in place of the scalar field
+            List<Map<String, Object>> relation = new ArrayList<>(1);
+            if (column.references() != null) {
+                String field = relationField(column);
+                relation.add(Map.of("Target", column.references(), "field", field,
+                        "Field", SpringBootFileGenerator.capitalize(field)));
+                mappings.add(Map.of("field", field, "name", column.name()));
+                relationTargets.add(column.references());
+                relationPaths.add("\"" + field + "\"");
+            }
+            // Only the foreign key of a relation is read, which needs no join
+            viewColumns.add(column.references() != null ? "e." + relationField(column) + ".id" : "e." + column.name());
+            columnValues.put("relation", relation);
+            if (options.loadTests()) {
+                String sample = version ? null : sample(column, javaType, loadTestImports);
+                columnValues.put("sample", sample);
+                if (sample == null && !column.nullable() && !version && loadTestSkipped == null) {
+                    loadTestSkipped = column.references() != null
+                            ? column.name() + " references " + column.references() + ", whose rows the load test does not create"
+                            : "The load test cannot make up values of type " + javaType.name() + " for " + column.name();
+                }
+            }
+            columns.add(scope.child(columnValues));
+        }
+        if (optimisticLocking && versionColumn == null) {
+            // The synthesized version is a JSON property of the DTO, the view must not lose it
+            viewColumns.add("e.version");
+        }
+        values.put("columns", columns);
+        values.put("imports", imports);
+        values.put("validation", validation);
+        values.put("load_test_imports", loadTestImports);
+        values.put("load_test_skipped", loadTestSkipped);
+
+        List<Map<String, Object>> oneToMany = oneToMany(table);
+        List<Map<String, Object>> targets = new ArrayList<>(relationTargets.size());
+        for (String target : relationTargets) {
+            targets.add(Map.of("Target", target, "target", SpringBootFileGenerator.lowerFirstChar(target),
+                    "import", !target.equals(tableName)));
+        }
+        values.put("one_to_many", oneToMany);
+        values.put("collections", !oneToMany.isEmpty());
+        values.put("relation_mappings", mappings);
+        values.put("relation_targets", targets);
+        values.put("many_to_one", !mappings.isEmpty());
+        values.put("relation_mapper", !mappings.isEmpty() || !oneToMany.isEmpty());
+        values.put("mapper_mappings", !mappings.isEmpty() || !oneToMany.isEmpty() || optimisticLocking);
+        values.put("entity_graph", !relationPaths.isEmpty());
+        values.put("relation_paths", String.join(", ", relationPaths));
+        values.put("view_columns", String.join(", ", viewColumns));
+        values.put("table_attributes", tableAttributes(table));
+
+        Set<String> repositoryImports = repositoryImports(values);
+        List<String> finders = finders(table, repositoryImports);
+        values.put("finders", finders);
+        values.put("repository_imports", repositoryImports);
+        values.put("repository_methods", options.keysetPagination() || options.batchWrites() || !finders.isEmpty()
+                || !relationPaths.isEmpty() || options.projections() || options.export());
+        return scope;
+    }
+
+    // Expression of the load test giving the column a valid value that is distinct for every row number n, or null when
+    // there is none; a relation is left empty, it would need a row of the other table
+    private static String sample(ColumnModel column, TypeRegistry.JavaType javaType, Set<String> imports) {
+        if (column.references() != null) {
+            return null;
+        }
+        int length = column.size() != null && javaType.sizing() == TypeRegistry.Sizing.LENGTH ? column.size() : 0;
+        String sample = switch (javaType.name()) {
+            case "String" -> "text(\"" + column.name() + "\", n, " + length + ")";
+            case "byte[]" -> {
+                imports.add("java.nio.charset.StandardCharsets");
+                yield "text(\"" + column.name() + "\", n, " + length + ").getBytes(StandardCharsets.UTF_8)";
+            }
+            case "Byte" -> "(byte) (n % 100)";
+            case "Short" -> "(short) (n % 10_000)";
+            case "Integer" -> "(int) n";
+            case "Long" -> "n";
+            case "Float" -> "(float) n";
+            case "Double" -> "(double) n";
+            case "Boolean" -> "n % 2 == 0";
+            // The unscaled value has no more digits than the precision allows
+            case "BigDecimal" -> "BigDecimal.valueOf(n % 1" + "0".repeat(column.size() == null ? 9 : Math.min(column.size(), 18))
+                    + "L, " + (column.scale() == null ? 0 : column.scale()) + ")";
+            case "LocalDate" -> "LocalDate.EPOCH.plusDays(n % 36_500)";
+            case "LocalTime" -> "LocalTime.ofSecondOfDay(n % 86_400)";
+            case "LocalDateTime" -> "LocalDateTime.of(2020, 1, 1, 0, 0).plusSeconds(n)";
+            case "OffsetDateTime" -> {
+                imports.add("java.time.ZoneOffset");
+                yield "OffsetDateTime.of(2020, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC).plusSeconds(n)";
+            }
+            case "UUID" -> "new UUID(0, n)";
+            default -> null;
+        };
+        if (sample != null && javaType.qualifiedName() != null) {
+            imports.add(javaType.qualifiedName());
+        }
+        return sample;
+    }
+
+    // The column named by the option holds the version when it is a plain integer, otherwise one is added
+    private ColumnModel versionColumn(TableModel table) {
+        String versionName = SpringBootFileGenerator.toCamelCase(options.versionColumn());
+        for (ColumnModel column : table.columns()) {
+            String type = types.javaType(column.type()).name();
+            if (column.name().equals(versionName) && column.references() == null
+                    && (type.equals("Long") || type.equals("Integer") || type.equals("Short"))) {
+                return column;
+            }
+        }
+        return null;
+    }
+
+    // customer_id becomes "customer"; a column named after the relation itself, e.g. owner, keeps its name
+    private static String relationField(ColumnModel column) {
+        String name = column.name();
+        return name.length() > 2 && name.endsWith("Id") ? name.substring(0, name.length() - 2) : name;
+    }
+
+    // The inverse side of every foreign key to this table, named after the child and, when needed, the field
+    private static List<Map<String, Object>> oneToMany(TableModel table) {
+        List<Map<String, Object>> oneToMany = new ArrayList<>(table.referencedBy().size());
+        Set<String> names = new TreeSet<>();
+        for (RelationModel relation : table.referencedBy()) {
+            String mappedBy = relationField(new ColumnModel(relation.column(), null));
+            String child = SpringBootFileGenerator.lowerFirstChar(relation.table());
+            String field = mappedBy.equals(SpringBootFileGenerator.lowerFirstChar(table.name()))
+                    ? child + "s" : child + "sBy" + SpringBootFileGenerator.capitalize(mappedBy);
+            if (!names.add(field)) {
+                continue;
+            }
+            oneToMany.add(Map.of("Child", relation.table(), "mapped_by", mappedBy, "field", field,
+                    "Field", SpringBootFileGenerator.capitalize(field)));
+        }
+        return oneToMany;
+    }
+
+    // Attributes of @Table after its name, one annotation per line
+    private static String tableAttributes(TableModel table) {
+        Set<String> known = new HashSet<>();
+        known.add("id");
+        for (ColumnModel column : table.columns()) {
+            known.add(column.name());
+        }
+        List<String> indexes = new ArrayList<>();
+        List<String> uniqueConstraints = new ArrayList<>();
+        for (IndexModel index : table.indexes()) {
+            // The schema could not be created from an index on a column the table does not have
+            if (!known.containsAll(index.columns())) {
+                continue;
+            }
+            List<String> columns = new ArrayList<>(index.columns().size());
+            for (String column : index.columns()) {
+                columns.add(SpringBootFileGenerator.toSnakeCase(column));
+            }
+            String name = index.name() == null ? "" : "name = \"" + index.name() + "\", ";
+            if (index.constraint()) {
+                uniqueConstraints.add("@UniqueConstraint(" + name + "columnNames = {\""
+                        + String.join("\", \"", columns) + "\"})");
+            } else {
+                indexes.add("@Index(" + name + "columnList = \"" + String.join(", ", columns) + "\""
+                        + (index.unique() ? ", unique = true" : "") + ")");
+            }
+        }
+        StringBuilder attributes = new StringBuilder();
+        if (!indexes.isEmpty()) {
+            attributes.append(", indexes = {\n    ").append(String.join(",\n    ", indexes)).append("\n}");
+        }
+        if (!uniqueConstraints.isEmpty()) {
+            attributes.append(", uniqueConstraints = {\n    ").append(String.join(",\n    ", uniqueConstraints))
+                    .append("\n}");
+        }
+        return attributes.toString();
+    }
+
+    // Derived queries on the indexed columns: a unique index finds at most one row, any other pages through its rows
+    private List<String> finders(TableModel table, Set<String> imports) {
+        Map<String, ColumnModel> byName = new HashMap<>();
+        for (ColumnModel column : table.columns()) {
+            byName.put(column.name(), column);
+        }
+        List<IndexModel> indexes = new ArrayList<>(table.indexes());
+        for (ColumnModel column : table.columns()) {
+            if (column.unique()) {
+                indexes.add(new IndexModel(null, List.of(column.name()), true, true));
+            }
+        }
+
+        Map<String, String> finders = new LinkedHashMap<>();
+        for (IndexModel index : indexes) {
+            StringBuilder method = new StringBuilder("findBy");
+            List<String> parameters = new ArrayList<>(index.columns().size() + 1);
+            for (String name : index.columns()) {
+                ColumnModel column = byName.get(name);
+                TypeRegistry.JavaType javaType = column == null ? null : types.javaType(column.type());
+                if (javaType == null || javaType.lob()) {
+                    method = null;
+                    break;
+                }
+                // The property of a relation is the entity, its id is reached as e.g. customerId
+                String property = column.references() != null && !name.endsWith("Id") ? name + "Id" : name;
+                method.append(method.length() > "findBy".length() ? "And" : "")
+                        .append(SpringBootFileGenerator.capitalize(property));
+                parameters.add(javaType.name() + " " + property);
+            }
+            if (method == null || (finders.containsKey(method.toString()) && !index.unique())) {
+                continue;
+            }
+            for (String name : index.columns()) {
+                TypeRegistry.JavaType javaType = types.javaType(byName.get(name).type());
+                if (javaType.qualifiedName() != null) {
+                    imports.add(javaType.qualifiedName());
+                }
+            }
+            if (index.unique()) {
+                imports.add("java.util.Optional");
+                finders.put(method.toString(),
+                        "Optional<" + table.name() + "> " + method + "(" + String.join(", ", parameters) + ");");
+            } else {
+                imports.add("java.util.List");
+                imports.add("org.springframework.data.domain.Pageable");
+                parameters.add("Pageable pageable");
+                finders.put(method.toString(),
+                        "List<" + table.name() + "> " + method + "(" + String.join(", ", parameters) + ");");
+            }
+        }
+        return new ArrayList<>(finders.values());
+    }
+
+    // Everything the JPA repository may import, sorted; the finders add theirs
+    private Set<String> repositoryImports(Map<String, Object> values) {
+        Set<String> imports = new TreeSet<>();
+        imports.add("org.springframework.data.jpa.repository.JpaRepository");
+        imports.add("org.springframework.stereotype.Repository");
+        if (options.batchWrites()) {
+            imports.add("java.util.Collection");
+        }
+        if (options.keysetPagination()) {
+            if (values.get("keyset_import") != null) {
+                imports.add((String) values.get("keyset_import"));
+            }
+            imports.add("org.springframework.data.domain.Pageable");
+            imports.add("org.springframework.data.domain.Slice");
+            imports.add("org.springframework.data.jpa.repository.Query");
+            imports.add("org.springframework.data.repository.query.Param");
+        }
+        if (options.export()) {
+            imports.add("jakarta.persistence.QueryHint");
+            imports.add("java.util.stream.Stream");
+            imports.add("org.hibernate.jpa.HibernateHints");
+            imports.add("org.springframework.data.jpa.repository.Query");
+            imports.add("org.springframework.data.jpa.repository.QueryHints");
+        }
+        if (options.projections()) {
+            imports.add("jakarta.persistence.QueryHint");
+            imports.add("org.hibernate.jpa.HibernateHints");
+            imports.add("org.springframework.data.domain.Page");
+            imports.add("org.springframework.data.domain.Pageable");
+            imports.add("org.springframework.data.jpa.repository.Query");
+            imports.add("org.springframework.data.jpa.repository.QueryHints");
+        }
+        if (Boolean.TRUE.equals(values.get("entity_graph"))) {
+            imports.add("org.springframework.data.domain.Page");
+            imports.add("org.springframework.data.domain.Pageable");
+            imports.add("org.springframework.data.jpa.repository.EntityGraph");
+        }
+        return imports;
+    }
+
+    // Attributes of @Column after its name, e.g. ", length = 255, nullable = false"
+    private static String columnAttributes(ColumnModel column, TypeRegistry.JavaType javaType) {
+        StringBuilder attributes = new StringBuilder();
+        if (column.size() != null && javaType.sizing() == TypeRegistry.Sizing.LENGTH) {
+            attributes.append(", length = ").append(column.size());
+        } else if (column.size() != null && javaType.sizing() == TypeRegistry.Sizing.PRECISION) {
+            attributes.append(", precision = ").append(column.size());
+            if (column.scale() != null) {
+                attributes.append(", scale = ").append(column.scale());
+            }
+        }
+        if (!column.nullable()) {
+            attributes.append(", nullable = false");
+        }
+        if (column.unique()) {
+            attributes.append(", unique = true");
+        }
+        return attributes.toString();
+    }
+
+    // Bean validation annotations of the DTO field, checked before anything reaches the database
+    private static List<String> constraints(ColumnModel column, TypeRegistry.JavaType javaType) {
+        List<String> constraints = new ArrayList<>(2);
+        if (!column.nullable()) {
+            constraints.add("@NotNull");
+        }
+        if (column.size() != null && javaType.sizing() == TypeRegistry.Sizing.LENGTH) {
+            constraints.add("@Size(max = " + column.size() + ")");
+        } else if (column.size() != null && javaType.sizing() == TypeRegistry.Sizing.PRECISION) {
+            int scale = column.scale() == null ? 0 : column.scale();
+            constraints.add("@Digits(integer = " + Math.max(column.size() - scale, 0) + ", fraction = " + scale + ")");
+        }
+        return constraints;
+    }
+
+    // Seeking on a column other than the id needs the id as tie breaker, and a cursor carrying both values
+    private void keyset(TableModel table, Map<String, Object> values) {
+        values.put("keyset", true);
+        String keysetName = SpringBootFileGenerator.toCamelCase(options.keysetColumn());
+        for (ColumnModel column : table.columns()) {
+            TypeRegistry.JavaType javaType = types.javaType(column.type());
+            // A cursor can only hold a value that can be parsed back, and a relation has no scalar property to seek on
+            if (column.name().equals(keysetName) && javaType.parser() != null && column.references() == null) {
+                values.put("keyset_by_column", true);
+                values.put("keyset_name", column.name());
+                values.put("keyset_Name", SpringBootFileGenerator.capitalize(column.name()));
+                values.put("keyset_type", javaType.name());
+                values.put("keyset_parse", javaType.parser());
+                if (javaType.qualifiedName() != null) {
+                    values.put("keyset_import", javaType.qualifiedName());
+                }
+                return;
+            }
+        }
+    }
+
+    public String render(Artifact artifact, TemplateScope scope) {
+        return templates.get(artifact).render(scope);
+    }
+
+    public void render(Artifact artifact, TemplateScope scope, Appendable out) throws IOException {
+        templates.get(artifact).render(scope, out);
+    }
+}
@@ -0,0 +1,131 @@
+package org.example;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The parsed changes and includes of every changelog of the last run, keyed by the hash of the file's bytes and
+ * persisted in a binary file next to the generated sources.
+ * <p>
+ * A changelog whose bytes did not change is taken from here instead of being parsed again, wherever it lives and
+ * whichever changelog includes it. Entries no file asked for during a run are dropped when saving, and the whole
+ * cache is ignored when it was written by a different version of the reader.
+ */
+public class ChangelogCache {
+
+    public static final String FILE_NAME = ".springboot-file-generator.changelogs";
+
+    /**
+     * The changes a changelog adds and the includes between them.
+     */
+    public record Entry(SchemaModel schema, List<ChangelogReader.Include> includes) {
+    }
+
+    private final Path cacheFile;
+    private final String fingerprint;
+    private final Map<String, Entry> stored = new ConcurrentHashMap<>();
+    private final Map<String, Entry> used = new ConcurrentHashMap<>();
+
+    private ChangelogCache(Path root, String fingerprint) {
+        this.cacheFile = root.resolve(FILE_NAME);
+        this.fingerprint = fingerprint;
+    }
+
+    /**
+     * Reads the cache of the directory; a missing, outdated or unreadable one yields an empty cache.
+     */
+    public static ChangelogCache load(Path root) throws IOException {
+        ChangelogCache cache = new ChangelogCache(root, fingerprint());
+        if (!Files.exists(cache.cacheFile)) {
+            return cache;
+        }
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(cache.cacheFile)))) {
+            if (!cache.fingerprint.equals(in.readUTF())) {
+                return cache;
+            }
+            for (int entries = in.readInt(); entries > 0; entries--) {
+                String hash = in.readUTF();
+                SchemaModel schema = SchemaModel.read(in);
+                List<ChangelogReader.Include> includes = new ArrayList<>();
+                for (int i = in.readInt(); i > 0; i--) {
+                    includes.add(new ChangelogReader.Include(in.readInt(), in.readUTF(), in.readBoolean(), in.readBoolean(),
+                            in.readBoolean()));
+                }
+                cache.stored.put(hash, new Entry(schema, includes));
+            }
+        } catch (IOException e) {
+            // Only costs a full parse, which is what the cache would have saved
+            cache.stored.clear();
+        }
+        return cache;
+    }
+
+    /**
+     * @param hash the {@link GenerationManifest#hash(byte[]) hash} of the changelog's bytes
+     * @return the entry, or {@code null} when the changelog has to be parsed
+     */
+    public Entry get(String hash) {
+        Entry entry = stored.get(hash);
+        if (entry != null) {
+            used.put(hash, entry);
+        }
+        return entry;
+    }
+
+    public void put(String hash, Entry entry) {
+        stored.put(hash, entry);
+        used.put(hash, entry);
+    }
+
+    /**
+     * Writes the entries used by this run, through a temporary file, so an interrupted run never leaves a truncated
+     * cache.
+     */
+    public void save() throws IOException {
+        Files.createDirectories(cacheFile.getParent());
+        Path temp = cacheFile.resolveSibling(FILE_NAME + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+            out.writeUTF(fingerprint);
+            out.writeInt(used.size());
+            for (Map.Entry<String, Entry> entry : new TreeMap<>(used).entrySet()) {
+                out.writeUTF(entry.getKey());
+                entry.getValue().schema().write(out);
+                out.writeInt(entry.getValue().includes().size());
+                for (ChangelogReader.Include include : entry.getValue().includes()) {
+                    out.writeInt(include.position());
+                    out.writeUTF(include.path());
+                    out.writeBoolean(include.directory());
+                    out.writeBoolean(include.relativeToChangelogFile());
+                    out.writeBoolean(include.errorIfMissing());
+                }
+            }
+        }
+        Files.move(temp, cacheFile, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    // The reader and the models decide what an entry holds, a change to any of them invalidates the cache
+    private static String fingerprint() throws IOException {
+        ByteArrayOutputStream classes = new ByteArrayOutputStream();
+        for (Class<?> type : List.of(ChangelogReader.class, SchemaModel.class, ColumnModel.class, IndexModel.class,
+                SpringBootFileGenerator.class)) {
+            try (InputStream in = type.getResourceAsStream(type.getSimpleName() + ".class")) {
+                classes.writeBytes(in == null ? new byte[0] : in.readAllBytes());
+            }
+        }
+        return GenerationManifest.hash(classes.toByteArray());
+    }
+}
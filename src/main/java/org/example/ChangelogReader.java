@@ -0,0 +1,264 @@
+package org.example;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.ByteArrayInputStream;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Streaming (StAX) reader for Liquibase changelogs.
+ * <p>
+ * Every {@code createTable} is added to the {@link SchemaModel} as soon as its closing tag is read, without
+ * building a DOM of the file. The schema also collects {@code createIndex}, {@code addUniqueConstraint},
+ * {@code addForeignKeyConstraint}, {@code addColumn}, {@code renameColumn}, {@code dropColumn} and
+ * {@code dropTable}, which can only be applied once the whole changelog is known. Includes are reported, not
+ * followed; {@link ChangelogTree} reads the files they name.
+ */
+public class ChangelogReader {
+
+    /**
+     * An {@code include} or {@code includeAll} of a changelog, as written in it.
+     *
+     * @param position                the number of changes read before it, where the included ones go
+     * @param directory               whether it is an {@code includeAll} of every changelog below the path
+     * @param relativeToChangelogFile whether the path is relative to the including file rather than to the search path
+     * @param errorIfMissing          whether a missing file, or a missing or empty directory, is an error
+     */
+    public record Include(int position, String path, boolean directory, boolean relativeToChangelogFile,
+                          boolean errorIfMissing) {
+    }
+
+    private final XMLInputFactory factory;
+    private final GenerationMetrics metrics;
+
+    public ChangelogReader() {
+        this(null);
+    }
+
+    /**
+     * @param metrics receives the parse time of every table, excluding the time spent adding it to the schema
+     */
+    public ChangelogReader(GenerationMetrics metrics) {
+        this.metrics = metrics;
+        factory = XMLInputFactory.newFactory();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+    }
+
+    public int read(Reader changelog, SchemaModel schema) throws XMLStreamException {
+        return read(factory.createXMLStreamReader(changelog), schema, null);
+    }
+
+    /**
+     * Reads the changes into the schema and the includes, in the order they appear, into the list.
+     */
+    public int read(byte[] changelog, SchemaModel schema, List<Include> includes) throws XMLStreamException {
+        return read(factory.createXMLStreamReader(new ByteArrayInputStream(changelog)), schema, includes);
+    }
+
+    private int read(XMLStreamReader reader, SchemaModel schema, List<Include> includes) throws XMLStreamException {
+        int tables = 0;
+        try {
+            while (reader.hasNext()) {
+                if (reader.next() != XMLStreamConstants.START_ELEMENT) {
+                    continue;
+                }
+                switch (reader.getLocalName()) {
+                    case "createTable" -> {
+                        schema.createTable(readTable(reader));
+                        tables++;
+                    }
+                    case "createIndex" -> {
+                        readIndex(reader, schema);
+                    }
+                    case "addUniqueConstraint" -> {
+                        schema.createIndex(camelCase(reader, "tableName"), new IndexModel(
+                                reader.getAttributeValue(null, "constraintName"),
+                                columnNames(reader.getAttributeValue(null, "columnNames")), true, true));
+                    }
+                    case "addForeignKeyConstraint" -> {
+                        List<String> columns = columnNames(reader.getAttributeValue(null, "baseColumnNames"));
+                        String referenced = referencedTable(reader.getAttributeValue(null, "referencedTableName"),
+                                reader.getAttributeValue(null, "referencedColumnNames"));
+                        // Composite keys have no entity id to map to
+                        if (columns.size() == 1 && referenced != null) {
+                            schema.addForeignKey(camelCase(reader, "baseTableName"), columns.get(0), referenced);
+                        }
+                    }
+                    case "addColumn" -> {
+                        String table = camelCase(reader, "tableName");
+                        for (ColumnModel column : readColumns(reader)) {
+                            schema.addColumn(table, column);
+                        }
+                    }
+                    case "renameColumn" -> {
+                        schema.renameColumn(camelCase(reader, "tableName"), camelCase(reader, "oldColumnName"),
+                                camelCase(reader, "newColumnName"));
+                    }
+                    case "dropColumn" -> {
+                        readDropColumn(reader, schema);
+                    }
+                    case "dropTable" -> {
+                        schema.dropTable(camelCase(reader, "tableName"));
+                    }
+                    case "include", "includeAll" -> {
+                        boolean directory = "includeAll".equals(reader.getLocalName());
+                        String path = reader.getAttributeValue(null, directory ? "path" : "file");
+                        if (includes != null && path != null) {
+                            String errorIfMissing = reader.getAttributeValue(null,
+                                    directory ? "errorIfMissingOrEmpty" : "errorIfMissing");
+                            includes.add(new Include(schema.size(), path, directory,
+                                    "true".equalsIgnoreCase(reader.getAttributeValue(null, "relativeToChangelogFile")),
+                                    !"false".equalsIgnoreCase(errorIfMissing)));
+                        }
+                    }
+                    default -> {
+                    }
+                }
+            }
+        } finally {
+            reader.close();
+        }
+        return tables;
+    }
+
+    // Reads from the createIndex start tag up to and including its end tag
+    private void readIndex(XMLStreamReader reader, SchemaModel schema) throws XMLStreamException {
+        String table = camelCase(reader, "tableName");
+        String name = reader.getAttributeValue(null, "indexName");
+        boolean unique = "true".equalsIgnoreCase(reader.getAttributeValue(null, "unique"));
+        List<String> columns = new ArrayList<>();
+        int depth = 1;
+        while (depth > 0) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                depth++;
+                if (depth == 2 && "column".equals(reader.getLocalName())) {
+                    columns.add(SpringBootFileGenerator.toCamelCase(reader.getAttributeValue(null, "name")));
+                }
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                depth--;
+            }
+        }
+        schema.createIndex(table, new IndexModel(name, columns, unique, false));
+    }
+
+    // Either columnName or nested column elements, up to and including the end tag
+    private void readDropColumn(XMLStreamReader reader, SchemaModel schema) throws XMLStreamException {
+        String table = camelCase(reader, "tableName");
+        if (reader.getAttributeValue(null, "columnName") != null) {
+            schema.dropColumn(table, camelCase(reader, "columnName"));
+        }
+        int depth = 1;
+        while (depth > 0) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                depth++;
+                if (depth == 2 && "column".equals(reader.getLocalName())) {
+                    schema.dropColumn(table, camelCase(reader, "name"));
+                }
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                depth--;
+            }
+        }
+    }
+
+    private static String camelCase(XMLStreamReader reader, String attribute) {
+        return SpringBootFileGenerator.toCamelCase(reader.getAttributeValue(null, attribute));
+    }
+
+    private static List<String> columnNames(String columnNames) {
+        List<String> columns = new ArrayList<>();
+        if (columnNames != null) {
+            for (String column : columnNames.split(",")) {
+                columns.add(SpringBootFileGenerator.toCamelCase(column.strip()));
+            }
+        }
+        return columns;
+    }
+
+    // Only a reference to the id of the other table can be mapped as a relation
+    private static String referencedTable(String table, String columns) {
+        if (table == null || (columns != null && !"id".equalsIgnoreCase(columns.strip()))) {
+            return null;
+        }
+        return SpringBootFileGenerator.toCamelCase(table.strip());
+    }
+
+    // Either references="customer(id)" or referencedTableName/referencedColumnNames
+    private static String inlineReference(XMLStreamReader reader) {
+        String references = reader.getAttributeValue(null, "references");
+        if (references != null) {
+            int open = references.indexOf('(');
+            int close = references.indexOf(')', open + 1);
+            return open < 0 || close < 0 ? referencedTable(references, null)
+                    : referencedTable(references.substring(0, open), references.substring(open + 1, close));
+        }
+        return referencedTable(reader.getAttributeValue(null, "referencedTableName"),
+                reader.getAttributeValue(null, "referencedColumnNames"));
+    }
+
+    // Reads from the createTable start tag up to and including its end tag
+    private TableModel readTable(XMLStreamReader reader) throws XMLStreamException {
+        GenerationEvents.ParseTable parseEvent = new GenerationEvents.ParseTable();
+        parseEvent.begin();
+        long start = System.nanoTime();
+
+        String tableName = SpringBootFileGenerator.toCamelCase(reader.getAttributeValue(null, "tableName"));
+        List<ColumnModel> columns = readColumns(reader);
+        if (metrics != null) {
+            metrics.record("parse", System.nanoTime() - start);
+        }
+        if (parseEvent.shouldCommit()) {
+            parseEvent.table = tableName;
+            parseEvent.columns = columns.size();
+            parseEvent.commit();
+        }
+        return new TableModel(tableName, columns);
+    }
+
+    // Reads the non-id columns of a createTable or addColumn, up to and including its end tag
+    private static List<ColumnModel> readColumns(XMLStreamReader reader) throws XMLStreamException {
+        List<ColumnModel> columns = new ArrayList<>();
+        int depth = 1;
+        // The column being read, until its end tag; its constraints are nested in it
+        String columnName = null;
+        String columnType = null;
+        boolean nullable = true;
+        boolean unique = false;
+        String references = null;
+
+        while (depth > 0) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                depth++;
+                if (depth == 2 && "column".equals(reader.getLocalName())) {
+                    columnName = SpringBootFileGenerator.toCamelCase(reader.getAttributeValue(null, "name"));
+                    columnType = reader.getAttributeValue(null, "type");
+                    nullable = true;
+                    unique = false;
+                    references = null;
+                } else if (depth == 3 && columnName != null && "constraints".equals(reader.getLocalName())) {
+                    nullable = !"false".equalsIgnoreCase(reader.getAttributeValue(null, "nullable"))
+                            && !"true".equalsIgnoreCase(reader.getAttributeValue(null, "primaryKey"));
+                    unique = "true".equalsIgnoreCase(reader.getAttributeValue(null, "unique"));
+                    references = inlineReference(reader);
+                }
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                if (depth == 2 && columnName != null) {
+                    if (!"id".equalsIgnoreCase(columnName)) {
+                        columns.add(ColumnModel.of(columnName, columnType, nullable)
+                                .withUnique(unique).withReferences(references));
+                    }
+                    columnName = null;
+                }
+                depth--;
+            }
+        }
+        return columns;
+    }
+}
@@ -0,0 +1,253 @@
+package org.example;
+
+import javax.xml.stream.XMLStreamException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * Reads a master changelog together with every changelog it includes, into one {@link SchemaModel} in the order
+ * Liquibase would apply the changes.
+ * <p>
+ * The files are parsed in parallel, one include level at a time: the master, then every file it includes, then
+ * every file those include, and so on. Each file is parsed on its own into its changes and the positions of its
+ * includes, and the files are only spliced together once all of them are read, so the order does not depend on
+ * which thread parsed what. A file included more than once is applied where it is first included, as Liquibase
+ * skips changesets it already ran.
+ * <p>
+ * With a {@link ChangelogCache}, a file whose bytes are unchanged since the last run is not parsed again.
+ */
+public class ChangelogTree {
+
+    private record Node(ChangelogCache.Entry entry, List<List<Path>> includes) {
+    }
+
+    private final ChangelogReader reader;
+    private final ChangelogCache cache;
+    private final int threads;
+    private final AtomicInteger parsedFiles = new AtomicInteger();
+    private final AtomicInteger cachedFiles = new AtomicInteger();
+    private final Set<Path> inputs = ConcurrentHashMap.newKeySet();
+
+    /**
+     * @param cache the parsed changelogs of the last run, or {@code null} to parse every file
+     */
+    public ChangelogTree(ChangelogReader reader, ChangelogCache cache, int threads) {
+        this.reader = reader;
+        this.cache = cache;
+        this.threads = threads;
+    }
+
+    public SchemaModel read(Path master) throws IOException, XMLStreamException {
+        return read(List.of(master));
+    }
+
+    /**
+     * Reads the changelogs one after the other, as a master including them in that order would. A changelog another
+     * one already included is not applied again.
+     */
+    public SchemaModel read(List<Path> changelogs) throws IOException, XMLStreamException {
+        List<Path> roots = new ArrayList<>(changelogs.size());
+        for (Path changelog : changelogs) {
+            roots.add(changelog.toAbsolutePath().normalize());
+        }
+        inputs.clear();
+        inputs.addAll(roots);
+        if (roots.isEmpty()) {
+            return new SchemaModel();
+        }
+        // Paths that are not relative to their changelog are searched from the first one
+        Path master = roots.get(0);
+        Map<Path, Node> nodes = new HashMap<>();
+        ExecutorService executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "changelog-reader");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<Path> level = new ArrayList<>(new LinkedHashSet<>(roots));
+            while (!level.isEmpty()) {
+                List<CompletableFuture<Node>> parsed = new ArrayList<>(level.size());
+                for (Path changelog : level) {
+                    parsed.add(CompletableFuture.supplyAsync(() -> node(changelog, master), executor));
+                }
+                Set<Path> next = new LinkedHashSet<>();
+                for (int i = 0; i < level.size(); i++) {
+                    Node node = join(parsed.get(i));
+                    nodes.put(level.get(i), node);
+                    node.includes().forEach(next::addAll);
+                }
+                next.removeAll(nodes.keySet());
+                level = new ArrayList<>(next);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        SchemaModel schema = new SchemaModel();
+        Set<Path> spliced = new HashSet<>();
+        for (Path root : roots) {
+            if (!spliced.contains(root)) {
+                splice(root, nodes, spliced, schema);
+            }
+        }
+        return schema;
+    }
+
+    /**
+     * The number of files parsed by the last reads, as opposed to taken from the cache.
+     */
+    public int parsedFiles() {
+        return parsedFiles.get();
+    }
+
+    public int cachedFiles() {
+        return cachedFiles.get();
+    }
+
+    /**
+     * Every path the last read depends on: the changelogs it read, the directories it listed for an
+     * {@code includeAll}, and the files it looked for but did not find. The schema can only change if one of them
+     * does.
+     */
+    public Set<Path> inputs() {
+        return Set.copyOf(inputs);
+    }
+
+    private void splice(Path changelog, Map<Path, Node> nodes, Set<Path> spliced, SchemaModel schema) {
+        spliced.add(changelog);
+        Node node = nodes.get(changelog);
+        SchemaModel changes = node.entry().schema();
+        int position = 0;
+        for (int i = 0; i < node.includes().size(); i++) {
+            int includePosition = node.entry().includes().get(i).position();
+            schema.addAll(changes, position, includePosition);
+            position = includePosition;
+            for (Path included : node.includes().get(i)) {
+                if (!spliced.contains(included)) {
+                    splice(included, nodes, spliced, schema);
+                }
+            }
+        }
+        schema.addAll(changes, position, changes.size());
+    }
+
+    // Runs on the pool, hence the unchecked exceptions
+    private Node node(Path changelog, Path master) {
+        try {
+            byte[] bytes = Files.readAllBytes(changelog);
+            String hash = GenerationManifest.hash(bytes);
+            ChangelogCache.Entry entry = cache == null ? null : cache.get(hash);
+            if (entry != null) {
+                cachedFiles.incrementAndGet();
+            } else {
+                SchemaModel schema = new SchemaModel();
+                List<ChangelogReader.Include> includes = new ArrayList<>();
+                reader.read(bytes, schema, includes);
+                entry = new ChangelogCache.Entry(schema, includes);
+                parsedFiles.incrementAndGet();
+                if (cache != null) {
+                    cache.put(hash, entry);
+                }
+            }
+
+            List<List<Path>> includes = new ArrayList<>(entry.includes().size());
+            for (ChangelogReader.Include include : entry.includes()) {
+                Path target = target(changelog, master, include);
+                inputs.add(target);
+                List<Path> resolved = resolve(changelog, target, include);
+                inputs.addAll(resolved);
+                includes.add(resolved);
+            }
+            return new Node(entry, includes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (XMLStreamException e) {
+            // Thrown as is by join, the message names the file
+            throw new CompletionException(new XMLStreamException("Cannot read " + changelog + " : " + e.getMessage(), e));
+        }
+    }
+
+    // The file or directory an include names
+    private static Path target(Path changelog, Path master, ChangelogReader.Include include) {
+        String path = include.path().startsWith("classpath:") ? include.path().substring("classpath:".length()) : include.path();
+        return include.relativeToChangelogFile()
+                ? changelog.getParent().resolve(path).normalize()
+                : searchPath(master, path);
+    }
+
+    // The files an include names, an includeAll in the alphabetical order of their paths
+    private static List<Path> resolve(Path changelog, Path resolved, ChangelogReader.Include include) throws IOException {
+        if (!include.directory()) {
+            if (Files.isRegularFile(resolved)) {
+                return List.of(resolved);
+            }
+            if (include.errorIfMissing()) {
+                throw new NoSuchFileException(resolved.toString(), null, "included by " + changelog);
+            }
+            return List.of();
+        }
+
+        List<Path> files = new ArrayList<>();
+        if (Files.isDirectory(resolved)) {
+            try (Stream<Path> walk = Files.walk(resolved)) {
+                walk.filter(file -> Files.isRegularFile(file) && file.getFileName().toString().endsWith(".xml"))
+                        .map(Path::normalize)
+                        .sorted(Comparator.comparing(Path::toString))
+                        .forEach(files::add);
+            }
+        }
+        if (files.isEmpty() && include.errorIfMissing()) {
+            throw new NoSuchFileException(resolved.toString(), null, "no changelog to include for " + changelog);
+        }
+        return files;
+    }
+
+    // Liquibase resolves a path that is not relative to the changelog against its search path, usually the resources
+    // root; the nearest directory above the master that holds the path stands in for it
+    private static Path searchPath(Path master, String path) {
+        if (Path.of(path).isAbsolute() && Files.exists(Path.of(path))) {
+            return Path.of(path).normalize();
+        }
+        Path relative = Path.of(path.startsWith("/") ? path.substring(1) : path);
+        for (Path directory = master.getParent(); directory != null; directory = directory.getParent()) {
+            Path candidate = directory.resolve(relative).normalize();
+            if (Files.exists(candidate)) {
+                return candidate;
+            }
+        }
+        return master.getParent().resolve(relative).normalize();
+    }
+
+    private static <T> T join(CompletableFuture<T> future) throws IOException, XMLStreamException {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof UncheckedIOException io) {
+                throw io.getCause();
+            }
+            if (cause instanceof XMLStreamException xml) {
+                throw xml;
+            }
+            throw e;
+        }
+    }
+}
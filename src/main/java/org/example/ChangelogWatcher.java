@@ -0,0 +1,183 @@
+package org.example;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Long-lived mode that keeps the parsed changelogs in memory and regenerates only what a save changed.
+ * <p>
+ * The directories are watched through a {@link WatchService}. On every change the schema is read again through a
+ * {@link ChangelogTree}, from the master changelog or, without one, from every changelog in the directories in the
+ * order of their paths, so the tables are the same as those of a single run. Its {@link ChangelogCache} holds the
+ * parsed changelogs, so only the saved file is parsed again. The resulting tables are compared with the previous
+ * ones and only new or modified tables are handed to the engine. Events arriving within a few milliseconds of each
+ * other, as editors tend to produce, are handled as one change.
+ */
+public class ChangelogWatcher implements AutoCloseable {
+
+    private static final long SETTLE_MILLIS = 10;
+
+    private final GenerationEngine engine;
+    private final ChangelogTree tree;
+    private final ChangelogCache cache;
+    private final Path master;
+    private final List<Path> directories;
+    private final WatchService watchService;
+    private final Map<WatchKey, Path> watchedDirectories = new HashMap<>();
+    private final Set<Path> changelogs = new TreeSet<>();
+    private Map<String, TableModel> tables = Map.of();
+
+    /**
+     * @param tree   reads the changelogs, through the cache
+     * @param cache  the cache of the tree, saved after every read, or {@code null}
+     * @param master the changelog including all others, or {@code null} to read every changelog in the directories
+     */
+    public ChangelogWatcher(GenerationEngine engine, ChangelogTree tree, ChangelogCache cache, Path master,
+                            List<Path> directories) throws IOException {
+        this.engine = engine;
+        this.tree = tree;
+        this.cache = cache;
+        this.master = master;
+        this.directories = List.copyOf(directories);
+        this.watchService = FileSystems.getDefault().newWatchService();
+    }
+
+    /**
+     * Generates every changelog once, then regenerates on change until the watcher is closed.
+     */
+    public void run() throws IOException, InterruptedException {
+        Set<Path> found = new LinkedHashSet<>();
+        for (Path directory : directories) {
+            register(directory, found);
+        }
+        regenerate(found);
+        System.out.println("Watching " + directories + " for changelog changes...");
+
+        try {
+            while (true) {
+                WatchKey key = watchService.take();
+                Set<Path> changed = new LinkedHashSet<>();
+                collect(key, changed);
+                // Let the burst of events of a single save settle
+                while ((key = watchService.poll(SETTLE_MILLIS, TimeUnit.MILLISECONDS)) != null) {
+                    collect(key, changed);
+                }
+                regenerate(changed);
+            }
+        } catch (ClosedWatchServiceException e) {
+            // closed from another thread, e.g. a shutdown hook
+        }
+    }
+
+    private void register(Path root, Set<Path> changelogs) throws IOException {
+        try (Stream<Path> paths = Files.walk(root)) {
+            for (Path path : (Iterable<Path>) paths::iterator) {
+                if (Files.isDirectory(path)) {
+                    WatchKey key = path.register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                            StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+                    watchedDirectories.put(key, path);
+                } else if (isChangelog(path) && Files.isRegularFile(path)) {
+                    changelogs.add(path);
+                }
+            }
+        }
+    }
+
+    private void collect(WatchKey key, Set<Path> changed) throws IOException {
+        Path directory = watchedDirectories.get(key);
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (directory == null || event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                // Events were lost, every known changelog has to be checked
+                changed.addAll(changelogs);
+                continue;
+            }
+            Path path = directory.resolve((Path) event.context());
+            if (event.kind() == StandardWatchEventKinds.ENTRY_CREATE && Files.isDirectory(path)) {
+                register(path, changed);
+            } else if (isChangelog(path)) {
+                changed.add(path);
+            }
+        }
+        if (!key.reset()) {
+            watchedDirectories.remove(key);
+        }
+    }
+
+    private void regenerate(Set<Path> changed) throws InterruptedException, IOException {
+        if (changed.isEmpty()) {
+            return;
+        }
+        long start = System.nanoTime();
+
+        for (Path changelog : changed) {
+            if (Files.isRegularFile(changelog)) {
+                changelogs.add(changelog);
+            } else {
+                changelogs.remove(changelog);
+            }
+        }
+        int parsedBefore = tree.parsedFiles();
+        SchemaModel schema;
+        try {
+            schema = master != null ? tree.read(master) : tree.read(new ArrayList<>(changelogs));
+        } catch (Exception e) {
+            // Most likely a save in progress; the next event will bring the complete file
+            System.out.println("Could not read the changelogs : " + e.getMessage());
+            return;
+        }
+        if (cache != null) {
+            cache.save();
+        }
+
+        Map<String, TableModel> current = new LinkedHashMap<>();
+        for (TableModel table : schema.tables()) {
+            current.put(table.name(), table);
+        }
+
+        List<TableModel> modified = new ArrayList<>();
+        for (TableModel table : current.values()) {
+            if (!table.equals(tables.get(table.name()))) {
+                modified.add(table);
+            }
+        }
+        long removed = tables.keySet().stream().filter(name -> !current.containsKey(name)).count();
+        if (removed > 0) {
+            System.out.println(removed + " table(s) no longer in any changelog, their files are kept");
+        }
+        tables = current;
+
+        for (TableModel table : modified) {
+            engine.generateFiles(table);
+        }
+        engine.awaitCompletion();
+        engine.saveManifest();
+        System.out.printf("Regenerated %d table(s) from %d changed changelog(s), %d parsed, in %d ms%n", modified.size(),
+                changed.size(), tree.parsedFiles() - parsedBefore, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    private static boolean isChangelog(Path path) {
+        return path.getFileName().toString().endsWith(".xml");
+    }
+
+    @Override
+    public void close() throws IOException {
+        watchService.close();
+    }
+}
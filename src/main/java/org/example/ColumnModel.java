@@ -0,0 +1,56 @@
+package org.example;
+
+/**
+ * A single non-id column of a {@code createTable} change, with the name already converted to camel case
+ * and the type reduced to its base SQL type, e.g. {@code varchar(255) -> varchar}.
+ * <p>
+ * The declared sizes are kept apart: {@code size} is the length of {@code varchar(255)} or the precision of
+ * {@code decimal(19,2)}, {@code scale} the {@code 2} of the latter. Both are {@code null} when not declared.
+ * {@code references} is the name of the table whose id the column holds, or {@code null}.
+ */
+public record ColumnModel(String name, String type, Integer size, Integer scale, boolean nullable, boolean unique,
+                          String references) {
+
+    public ColumnModel(String name, String type) {
+        this(name, type, null, null, true, false, null);
+    }
+
+    /**
+     * @param declaredType the type as written in the changelog, e.g. {@code decimal(19, 2)}
+     */
+    public static ColumnModel of(String name, String declaredType, boolean nullable) {
+        Integer size = null;
+        Integer scale = null;
+        int open = declaredType == null ? -1 : declaredType.indexOf('(');
+        int close = open < 0 ? -1 : declaredType.indexOf(')', open);
+        if (close > open) {
+            String[] parameters = declaredType.substring(open + 1, close).split(",");
+            size = parseSize(parameters[0]);
+            scale = parameters.length > 1 ? parseSize(parameters[1]) : null;
+        }
+        return new ColumnModel(name, SpringBootFileGenerator.cleanDataType(declaredType), size, scale, nullable, false,
+                null);
+    }
+
+    // Sizes such as MAX, or BYTE/CHAR qualifiers, carry nothing the generated code can use
+    private static Integer parseSize(String parameter) {
+        String digits = parameter.strip();
+        int end = 0;
+        while (end < digits.length() && Character.isDigit(digits.charAt(end))) {
+            end++;
+        }
+        return end == 0 ? null : Integer.valueOf(digits.substring(0, end));
+    }
+
+    public ColumnModel withName(String name) {
+        return new ColumnModel(name, type, size, scale, nullable, unique, references);
+    }
+
+    public ColumnModel withUnique(boolean unique) {
+        return new ColumnModel(name, type, size, scale, nullable, unique, references);
+    }
+
+    public ColumnModel withReferences(String references) {
+        return new ColumnModel(name, type, size, scale, nullable, unique, references);
+    }
+}
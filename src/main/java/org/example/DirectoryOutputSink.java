@@ -0,0 +1,168 @@
+package org.example;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link OutputSink} writing the generated files into a directory tree.
+ * <p>
+ * Content is encoded as UTF-8, written to a temporary file next to the target through a {@link FileChannel},
+ * forced to the disk and then moved over the target atomically, so an interrupted run or a crash leaves either the
+ * old or the new file, never half of one. That costs one fsync and one rename per file. Directories are created
+ * once per run. Writes go through a small bounded queue drained by a few writer threads, which caps the filesystem
+ * concurrency and slows producers down when the disk falls behind. A writer takes up to {@value #BATCH_SIZE} files
+ * off the queue at once, which only saves queue handoffs: every file of the batch is still written, forced and
+ * moved on its own.
+ */
+public class DirectoryOutputSink implements OutputSink {
+
+    private static final int BATCH_SIZE = 32;
+    private static final String TEMP_SUFFIX = ".generator.tmp";
+
+    private final Path root;
+    private final BlockingQueue<PendingWrite> queue;
+    private final Map<Path, Boolean> createdDirectories = new ConcurrentHashMap<>();
+    private final List<Thread> writers = new ArrayList<>();
+    private volatile boolean closed;
+
+    public DirectoryOutputSink(Path root) {
+        this(root, 4, 64);
+    }
+
+    public DirectoryOutputSink(Path root, int writerThreads, int queueCapacity) {
+        this.root = root;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        for (int i = 0; i < writerThreads; i++) {
+            Thread writer = new Thread(this::drain, "generator-writer-" + i);
+            writer.setDaemon(true);
+            writer.start();
+            writers.add(writer);
+        }
+    }
+
+    public Path root() {
+        return root;
+    }
+
+    /**
+     * Queues the file for writing, blocking while the queue is full.
+     */
+    @Override
+    public CompletableFuture<Void> write(String relativePath, String content) {
+        if (closed) {
+            throw new IllegalStateException("Output directory " + root + " is closed");
+        }
+        PendingWrite write = new PendingWrite(root.resolve(relativePath), content.getBytes(StandardCharsets.UTF_8),
+                new CompletableFuture<>());
+        try {
+            queue.put(write);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            write.done().completeExceptionally(e);
+        }
+        return write.done();
+    }
+
+    private void drain() {
+        List<PendingWrite> batch = new ArrayList<>(BATCH_SIZE);
+        while (!closed || !queue.isEmpty()) {
+            try {
+                PendingWrite first = queue.poll(50, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, BATCH_SIZE - 1);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+
+            for (PendingWrite write : batch) {
+                try {
+                    writeAtomically(write.target(), write.content());
+                    write.done().complete(null);
+                } catch (IOException | UncheckedIOException e) {
+                    write.done().completeExceptionally(e);
+                }
+            }
+            batch.clear();
+        }
+    }
+
+    private void writeAtomically(Path target, byte[] content) throws IOException {
+        createDirectoryIfNotExists(target.getParent());
+        try {
+            replace(target, content);
+        } catch (NoSuchFileException e) {
+            // The directory was deleted since it was created, e.g. by a clean while running in watch mode
+            createdDirectories.remove(target.getParent());
+            createDirectoryIfNotExists(target.getParent());
+            replace(target, content);
+        }
+    }
+
+    private void replace(Path target, byte[] content) throws IOException {
+        Path temp = target.resolveSibling(target.getFileName() + TEMP_SUFFIX);
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING)) {
+                ByteBuffer buffer = ByteBuffer.wrap(content);
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                // Otherwise the rename may reach the disk before the data, leaving an empty file after a crash
+                channel.force(false);
+            }
+            try {
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private void createDirectoryIfNotExists(Path directory) {
+        createdDirectories.computeIfAbsent(directory, path -> {
+            try {
+                Files.createDirectories(path);
+                return Boolean.TRUE;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    /**
+     * Finishes every queued write and stops the writer threads.
+     */
+    @Override
+    public void close() throws InterruptedException {
+        closed = true;
+        for (Thread writer : writers) {
+            writer.join();
+        }
+    }
+
+    private record PendingWrite(Path target, byte[] content, CompletableFuture<Void> done) {
+    }
+}
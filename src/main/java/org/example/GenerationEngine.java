@@ -0,0 +1,259 @@
+package org.example;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Generates the artifacts of many tables in parallel.
+ * <p>
+ * Every table is split into one task per {@link Artifact} on a shared pool. The number of tables in flight is
+ * bounded so a streaming reader cannot queue up a whole schema; how many files are written at once is up to the
+ * {@link OutputSink}. Tables with the same name are generated in the order they were submitted, so the output is
+ * the same whatever the thread scheduling.
+ * <p>
+ * When a {@link GenerationManifest} is given, the engine skips tables whose input did not change since the last
+ * run, and files whose content would be written unchanged. That only makes sense for a sink that keeps the files
+ * of earlier runs, such as a {@link DirectoryOutputSink}.
+ * <p>
+ * Every model build, render and write is timed into the {@link GenerationMetrics} of the engine and emitted as a
+ * {@link GenerationEvents} Flight Recorder event.
+ */
+public class GenerationEngine implements AutoCloseable {
+
+    private final String basePackage;
+    private final ArtifactRenderer renderer;
+    private final ExecutorService executor;
+    private final int maxTablesInFlight;
+    private final Semaphore tablePermits;
+    private final OutputSink sink;
+    private final Map<String, CompletableFuture<Boolean>> pending = new ConcurrentHashMap<>();
+    private final GenerationMetrics metrics = new GenerationMetrics();
+    private final GenerationManifest manifest;
+
+    public GenerationEngine(String basePackage, String baseDirectoryPath) throws IOException {
+        this(basePackage, new DirectoryOutputSink(Path.of(baseDirectoryPath)), GenerationManifest.load(Path.of(baseDirectoryPath)),
+                ArtifactRenderer.load(), Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * @param sink     where the files go; closed together with the engine
+     * @param manifest hashes of the previous run, or {@code null} to always render and write everything
+     */
+    public GenerationEngine(String basePackage, OutputSink sink, GenerationManifest manifest, ArtifactRenderer renderer,
+                            int threads) {
+        this.basePackage = basePackage;
+        this.sink = sink;
+        this.renderer = renderer;
+        this.manifest = manifest;
+        this.executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "generator-worker");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.maxTablesInFlight = threads * 4;
+        this.tablePermits = new Semaphore(maxTablesInFlight);
+    }
+
+    /**
+     * Schedules the artifacts of the table, blocking while too many tables are already in flight.
+     */
+    public void generateFiles(TableModel table) {
+        tablePermits.acquireUninterruptibly();
+        String tableName = table.name();
+
+        CompletableFuture<Boolean> generated;
+        try {
+            generated = pending.compute(tableName, (name, previous) -> previous == null
+                    ? generateArtifacts(table)
+                    : previous.handle((result, error) -> null).thenCompose(ignored -> generateArtifacts(table)));
+        } catch (RuntimeException | Error e) {
+            // Only the completion callback releases the permit, and there is no future to attach it to
+            tablePermits.release();
+            throw e;
+        }
+
+        generated.whenComplete((rendered, error) -> {
+            if (error == null) {
+                if (rendered) {
+                    metrics.tableGenerated();
+                }
+            } else {
+                Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                metrics.tableFailed(tableName, cause);
+                if (manifest != null) {
+                    manifest.forgetTable(tableName);
+                }
+            }
+            pending.remove(tableName, generated);
+            tablePermits.release();
+        });
+    }
+
+    // Completes with false when the table was up to date and nothing had to be rendered. Hashing the table and
+    // building its model run on the pool, so a table that cannot be modelled fails its future, not the caller
+    private CompletableFuture<Boolean> generateArtifacts(TableModel table) {
+        return CompletableFuture.supplyAsync(() -> scheduleArtifacts(table), executor).thenCompose(Function.identity());
+    }
+
+    private CompletableFuture<Boolean> scheduleArtifacts(TableModel table) {
+        String inputHash = manifest == null ? null
+                : GenerationManifest.hash(renderer.fingerprint() + "\n" + basePackage + "\n" + table);
+        if (manifest != null) {
+            List<String> relativePaths = new ArrayList<>();
+            for (Artifact artifact : renderer.artifacts()) {
+                relativePaths.add(renderer.relativePath(artifact, basePackage, table.name()));
+            }
+            if (manifest.isTableUpToDate(table.name(), inputHash, relativePaths)) {
+                // Also claims the files of a manifest written before it recorded their table
+                manifest.recordTable(table.name(), inputHash, relativePaths);
+                metrics.tableSkipped(relativePaths.size());
+                return CompletableFuture.completedFuture(false);
+            }
+        }
+
+        TemplateScope scope = buildModel(table);
+        List<CompletableFuture<Void>> artifacts = new ArrayList<>();
+        List<String> relativePaths = new ArrayList<>();
+        for (Artifact artifact : renderer.artifacts()) {
+            String relativePath = renderer.relativePath(artifact, basePackage, table.name());
+            relativePaths.add(relativePath);
+            artifacts.add(CompletableFuture.supplyAsync(() -> render(artifact, table, scope), executor)
+                    .thenCompose(content -> writeArtifact(artifact, relativePath, content)));
+        }
+        CompletableFuture<Void> generated = CompletableFuture.allOf(artifacts.toArray(new CompletableFuture<?>[0]));
+        if (manifest != null) {
+            generated = generated.thenRun(() -> manifest.recordTable(table.name(), inputHash, relativePaths));
+        }
+        return generated.thenApply(ignored -> true);
+    }
+
+    private TemplateScope buildModel(TableModel table) {
+        GenerationEvents.BuildModel event = new GenerationEvents.BuildModel();
+        event.begin();
+        long start = System.nanoTime();
+
+        TemplateScope scope = renderer.scope(table, basePackage);
+
+        metrics.record("model", System.nanoTime() - start);
+        if (event.shouldCommit()) {
+            event.table = table.name();
+            event.commit();
+        }
+        return scope;
+    }
+
+    private String render(Artifact artifact, TableModel table, TemplateScope scope) {
+        GenerationEvents.RenderArtifact event = new GenerationEvents.RenderArtifact();
+        event.begin();
+        long start = System.nanoTime();
+
+        String content = renderer.render(artifact, scope);
+
+        metrics.record("render." + artifact, System.nanoTime() - start);
+        if (event.shouldCommit()) {
+            event.table = table.name();
+            event.artifact = artifact.name();
+            event.characters = content.length();
+            event.commit();
+        }
+        return content;
+    }
+
+    private CompletableFuture<Void> writeArtifact(Artifact artifact, String relativePath, String content) {
+        String contentHash = manifest == null ? null : GenerationManifest.hash(content);
+        if (manifest != null && manifest.isFileUpToDate(relativePath, contentHash)) {
+            metrics.fileSkipped();
+            return CompletableFuture.completedFuture(null);
+        }
+
+        GenerationEvents.WriteArtifact event = new GenerationEvents.WriteArtifact();
+        event.begin();
+        long start = System.nanoTime();
+
+        return sink.write(relativePath, content).thenRun(() -> {
+            long bytes = utf8Length(content);
+            metrics.record("write." + artifact, System.nanoTime() - start);
+            metrics.fileWritten(bytes);
+            if (event.shouldCommit()) {
+                event.path = relativePath;
+                event.bytes = bytes;
+                event.commit();
+            }
+            if (manifest != null) {
+                manifest.recordFile(relativePath, contentHash);
+            }
+        });
+    }
+
+    private static long utf8Length(String content) {
+        long length = 0;
+        for (int i = 0; i < content.length(); i++) {
+            char c = content.charAt(i);
+            if (c < 0x80) {
+                length++;
+            } else if (c < 0x800) {
+                length += 2;
+            } else if (Character.isHighSurrogate(c)) {
+                length += 4;
+                i++;
+            } else {
+                length += 3;
+            }
+        }
+        return length;
+    }
+
+    public GenerationMetrics metrics() {
+        return metrics;
+    }
+
+    /**
+     * Waits until every table scheduled so far has been generated or has failed.
+     */
+    public void awaitCompletion() throws InterruptedException {
+        // Every table holds a permit until its completion callback has run
+        tablePermits.acquire(maxTablesInFlight);
+        tablePermits.release(maxTablesInFlight);
+    }
+
+    /**
+     * Deletes the files generated for tables other than the given ones, such as dropped or no longer included ones,
+     * and forgets them. Only files the manifest recorded are touched; without a manifest nothing is deleted.
+     *
+     * @return the number of deleted files
+     */
+    public int deleteStaleTables(Collection<String> tableNames) throws IOException {
+        return manifest == null ? 0 : manifest.deleteTablesExcept(Set.copyOf(tableNames)).size();
+    }
+
+    /**
+     * Persists the manifest, if any, so a long-lived engine survives being killed between runs.
+     */
+    public void saveManifest() throws IOException {
+        if (manifest != null) {
+            manifest.save();
+        }
+    }
+
+    @Override
+    public void close() throws Exception {
+        awaitCompletion();
+        executor.shutdown();
+        executor.awaitTermination(1, TimeUnit.MINUTES);
+        sink.close();
+        saveManifest();
+    }
+}
@@ -0,0 +1,75 @@
+package org.example;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder events of a generation run, one per phase of every table. Record them with
+ * {@code java -XX:StartFlightRecording:filename=generator.jfr ...} and look for the
+ * "Spring Boot File Generator" category in JDK Mission Control.
+ */
+public final class GenerationEvents {
+
+    private static final String CATEGORY = "Spring Boot File Generator";
+
+    private GenerationEvents() {
+    }
+
+    @Name("org.example.ParseTable")
+    @Label("Parse Table")
+    @Description("Reading one createTable from the changelog")
+    @Category(CATEGORY)
+    @StackTrace(false)
+    public static class ParseTable extends Event {
+        @Label("Table")
+        public String table;
+
+        @Label("Columns")
+        public int columns;
+    }
+
+    @Name("org.example.BuildModel")
+    @Label("Build Model")
+    @Description("Computing the names and types shared by the templates of one table")
+    @Category(CATEGORY)
+    @StackTrace(false)
+    public static class BuildModel extends Event {
+        @Label("Table")
+        public String table;
+    }
+
+    @Name("org.example.RenderArtifact")
+    @Label("Render Artifact")
+    @Description("Rendering one generated file from its template")
+    @Category(CATEGORY)
+    @StackTrace(false)
+    public static class RenderArtifact extends Event {
+        @Label("Table")
+        public String table;
+
+        @Label("Artifact")
+        public String artifact;
+
+        @Label("Characters")
+        public int characters;
+    }
+
+    @Name("org.example.WriteArtifact")
+    @Label("Write Artifact")
+    @Description("Storing one generated file in the output sink, from submission to completion")
+    @Category(CATEGORY)
+    @StackTrace(false)
+    public static class WriteArtifact extends Event {
+        @Label("Path")
+        public String path;
+
+        @Label("Size")
+        @DataAmount
+        public long bytes;
+    }
+}
@@ -0,0 +1,180 @@
+package org.example;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Content hashes of the last generation run, persisted next to the generated sources.
+ * <p>
+ * Two kinds of entries are kept: the hash of the input model of every table, which lets a run skip rendering a
+ * table that did not change, and the hash of every generated file, which lets a run skip rewriting a file whose
+ * bytes would be identical. Either way the file keeps its modification time, so incremental compilers and IDE
+ * indexers leave it alone. The table every file was generated for is kept as well, so the files of a table that
+ * is gone can be deleted.
+ */
+public class GenerationManifest {
+
+    public static final String FILE_NAME = ".springboot-file-generator.manifest";
+
+    private static final String TABLE = "table";
+    private static final String FILE = "file";
+    private static final String OWNER = "owner";
+
+    private final Path root;
+    private final Path manifestFile;
+    private final Map<String, String> tableHashes = new ConcurrentHashMap<>();
+    private final Map<String, String> fileHashes = new ConcurrentHashMap<>();
+    private final Map<String, String> fileTables = new ConcurrentHashMap<>();
+
+    private GenerationManifest(Path root) {
+        this.root = root;
+        this.manifestFile = root.resolve(FILE_NAME);
+    }
+
+    public static GenerationManifest load(Path root) throws IOException {
+        GenerationManifest manifest = new GenerationManifest(root);
+        if (!Files.exists(manifest.manifestFile)) {
+            return manifest;
+        }
+
+        try (BufferedReader reader = Files.newBufferedReader(manifest.manifestFile, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] parts = line.split("\t");
+                if (parts.length != 3) {
+                    continue;
+                }
+                if (TABLE.equals(parts[0])) {
+                    manifest.tableHashes.put(parts[1], parts[2]);
+                } else if (FILE.equals(parts[0])) {
+                    manifest.fileHashes.put(parts[1], parts[2]);
+                } else if (OWNER.equals(parts[0])) {
+                    manifest.fileTables.put(parts[1], parts[2]);
+                }
+            }
+        }
+        return manifest;
+    }
+
+    /**
+     * Whether the table was last generated from the same input and all of its files are still there.
+     */
+    public boolean isTableUpToDate(String tableName, String inputHash, Iterable<String> relativePaths) {
+        if (!inputHash.equals(tableHashes.get(tableName))) {
+            return false;
+        }
+        for (String relativePath : relativePaths) {
+            if (!fileHashes.containsKey(relativePath) || !Files.exists(root.resolve(relativePath))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Whether the file on disk already holds content with the given hash.
+     */
+    public boolean isFileUpToDate(String relativePath, String contentHash) {
+        return contentHash.equals(fileHashes.get(relativePath)) && Files.exists(root.resolve(relativePath));
+    }
+
+    /**
+     * Whether the last run wrote any file and every file it recorded is still on disk.
+     */
+    public boolean hasAllFiles() {
+        if (fileHashes.isEmpty()) {
+            return false;
+        }
+        for (String relativePath : fileHashes.keySet()) {
+            if (!Files.exists(root.resolve(relativePath))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @param relativePaths the files generated for the table, deleted with {@link #deleteTablesExcept(Set)} once the
+     *                      table is gone
+     */
+    public void recordTable(String tableName, String inputHash, Iterable<String> relativePaths) {
+        tableHashes.put(tableName, inputHash);
+        for (String relativePath : relativePaths) {
+            fileTables.put(relativePath, tableName);
+        }
+    }
+
+    public void forgetTable(String tableName) {
+        tableHashes.remove(tableName);
+    }
+
+    /**
+     * Deletes the files of every table not in the given ones, e.g. dropped from the changelog, and forgets them.
+     *
+     * @return the relative paths of the deleted files
+     */
+    public List<String> deleteTablesExcept(Set<String> tableNames) throws IOException {
+        List<String> deleted = new ArrayList<>();
+        for (Map.Entry<String, String> owned : new TreeMap<>(fileTables).entrySet()) {
+            if (!tableNames.contains(owned.getValue())) {
+                Files.deleteIfExists(root.resolve(owned.getKey()));
+                fileTables.remove(owned.getKey());
+                fileHashes.remove(owned.getKey());
+                deleted.add(owned.getKey());
+            }
+        }
+        tableHashes.keySet().retainAll(tableNames);
+        return deleted;
+    }
+
+    public void recordFile(String relativePath, String contentHash) {
+        fileHashes.put(relativePath, contentHash);
+    }
+
+    /**
+     * Writes the manifest sorted, through a temporary file, so an interrupted run never leaves a truncated one.
+     */
+    public void save() throws IOException {
+        Files.createDirectories(root);
+        Path temp = manifestFile.resolveSibling(FILE_NAME + ".tmp");
+        try (BufferedWriter writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+            for (Map.Entry<String, String> entry : new TreeMap<>(tableHashes).entrySet()) {
+                writer.write(TABLE + "\t" + entry.getKey() + "\t" + entry.getValue() + "\n");
+            }
+            for (Map.Entry<String, String> entry : new TreeMap<>(fileHashes).entrySet()) {
+                writer.write(FILE + "\t" + entry.getKey() + "\t" + entry.getValue() + "\n");
+            }
+            for (Map.Entry<String, String> entry : new TreeMap<>(fileTables).entrySet()) {
+                writer.write(OWNER + "\t" + entry.getKey() + "\t" + entry.getValue() + "\n");
+            }
+        }
+        Files.move(temp, manifestFile, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    public static String hash(String content) {
+        return hash(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static String hash(byte[] content) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(content));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
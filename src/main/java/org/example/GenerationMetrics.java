@@ -0,0 +1,214 @@
+package org.example;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters and timings of one generation run, safe to update from every worker thread.
+ * <p>
+ * Durations are kept per timer, e.g. {@code parse}, {@code model}, {@code render.ENTITY} or {@code write.DTO}, so the
+ * summary can report percentiles per artifact type. Keeping every sample costs a few hundred kilobytes for a
+ * schema of thousands of tables, which is nothing next to the generated files.
+ */
+public class GenerationMetrics {
+
+    private final long startNanos = System.nanoTime();
+    private volatile long endNanos;
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+    private final AtomicInteger generatedTables = new AtomicInteger();
+    private final AtomicInteger skippedTables = new AtomicInteger();
+    private final AtomicInteger writtenFiles = new AtomicInteger();
+    private final AtomicInteger skippedFiles = new AtomicInteger();
+    private final LongAdder bytesWritten = new LongAdder();
+    private final Queue<Failure> failures = new ConcurrentLinkedQueue<>();
+
+    public void record(String timer, long nanos) {
+        timers.computeIfAbsent(timer, name -> new Timer()).add(nanos);
+    }
+
+    public void tableGenerated() {
+        generatedTables.incrementAndGet();
+    }
+
+    public void tableSkipped(int files) {
+        skippedTables.incrementAndGet();
+        skippedFiles.addAndGet(files);
+    }
+
+    public void fileWritten(long bytes) {
+        writtenFiles.incrementAndGet();
+        bytesWritten.add(bytes);
+    }
+
+    public void fileSkipped() {
+        skippedFiles.incrementAndGet();
+    }
+
+    public void tableFailed(String table, Throwable cause) {
+        failures.add(new Failure(table, String.valueOf(cause)));
+    }
+
+    /**
+     * Stops the run clock; the summary of a run that is not finished uses the time elapsed so far.
+     */
+    public void finish() {
+        endNanos = System.nanoTime();
+    }
+
+    public int generatedTables() {
+        return generatedTables.get();
+    }
+
+    public int skippedTables() {
+        return skippedTables.get();
+    }
+
+    public int writtenFiles() {
+        return writtenFiles.get();
+    }
+
+    public int skippedFiles() {
+        return skippedFiles.get();
+    }
+
+    public long bytesWritten() {
+        return bytesWritten.sum();
+    }
+
+    public Queue<Failure> failures() {
+        return failures;
+    }
+
+    private double elapsedSeconds() {
+        long end = endNanos != 0 ? endNanos : System.nanoTime();
+        return (end - startNanos) / 1e9;
+    }
+
+    private double tablesPerSecond() {
+        double seconds = elapsedSeconds();
+        return seconds > 0 ? (generatedTables.get() + skippedTables.get()) / seconds : 0;
+    }
+
+    public String summary() {
+        StringBuilder summary = new StringBuilder();
+        summary.append(String.format("Tables : %d generated, %d unchanged, %d failed in %.3f s (%.1f tables/s)%n",
+                generatedTables.get(), skippedTables.get(), failures.size(), elapsedSeconds(), tablesPerSecond()));
+        summary.append(String.format("Files : %d written (%d bytes), %d unchanged%n",
+                writtenFiles.get(), bytesWritten.sum(), skippedFiles.get()));
+        for (Map.Entry<String, Timer> timer : new TreeMap<>(timers).entrySet()) {
+            long[] samples = timer.getValue().sorted();
+            summary.append(String.format("  %-20s count %6d   p50 %9.3f ms   p99 %9.3f ms%n", timer.getKey(),
+                    samples.length, millis(percentile(samples, 50)), millis(percentile(samples, 99))));
+        }
+        return summary.toString();
+    }
+
+    public String toJson() {
+        StringBuilder json = new StringBuilder();
+        json.append("{\n");
+        json.append("  \"durationMillis\": ").append(Math.round(elapsedSeconds() * 1000)).append(",\n");
+        json.append("  \"tablesPerSecond\": ").append(decimal(tablesPerSecond())).append(",\n");
+        json.append("  \"tables\": {\"generated\": ").append(generatedTables.get())
+                .append(", \"unchanged\": ").append(skippedTables.get())
+                .append(", \"failed\": ").append(failures.size()).append("},\n");
+        json.append("  \"files\": {\"written\": ").append(writtenFiles.get())
+                .append(", \"unchanged\": ").append(skippedFiles.get()).append("},\n");
+        json.append("  \"bytesWritten\": ").append(bytesWritten.sum()).append(",\n");
+
+        json.append("  \"timers\": {");
+        String separator = "\n";
+        for (Map.Entry<String, Timer> timer : new TreeMap<>(timers).entrySet()) {
+            long[] samples = timer.getValue().sorted();
+            long total = 0;
+            for (long sample : samples) {
+                total += sample;
+            }
+            json.append(separator).append("    ").append(quote(timer.getKey())).append(": {")
+                    .append("\"count\": ").append(samples.length)
+                    .append(", \"totalMillis\": ").append(decimal(millis(total)))
+                    .append(", \"p50Millis\": ").append(decimal(millis(percentile(samples, 50))))
+                    .append(", \"p99Millis\": ").append(decimal(millis(percentile(samples, 99))))
+                    .append(", \"maxMillis\": ").append(decimal(millis(samples.length == 0 ? 0 : samples[samples.length - 1])))
+                    .append("}");
+            separator = ",\n";
+        }
+        json.append(timers.isEmpty() ? "},\n" : "\n  },\n");
+
+        json.append("  \"failures\": [");
+        separator = "\n";
+        for (Failure failure : failures) {
+            json.append(separator).append("    {\"table\": ").append(quote(failure.table()))
+                    .append(", \"error\": ").append(quote(failure.error())).append("}");
+            separator = ",\n";
+        }
+        json.append(failures.isEmpty() ? "]\n" : "\n  ]\n");
+        return json.append("}\n").toString();
+    }
+
+    private static long percentile(long[] sorted, int percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1e6;
+    }
+
+    // JSON numbers always use a dot, whatever the default locale
+    private static String decimal(double value) {
+        return String.format(Locale.ROOT, "%.3f", value);
+    }
+
+    private static String quote(String value) {
+        StringBuilder quoted = new StringBuilder(value.length() + 2).append('"');
+        for (char c : value.toCharArray()) {
+            switch (c) {
+                case '"' -> quoted.append("\\\"");
+                case '\\' -> quoted.append("\\\\");
+                case '\n' -> quoted.append("\\n");
+                case '\r' -> quoted.append("\\r");
+                case '\t' -> quoted.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        quoted.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        quoted.append(c);
+                    }
+                }
+            }
+        }
+        return quoted.append('"').toString();
+    }
+
+    public record Failure(String table, String error) {
+    }
+
+    private static final class Timer {
+
+        private long[] samples = new long[64];
+        private int size;
+
+        synchronized void add(long nanos) {
+            if (size == samples.length) {
+                samples = Arrays.copyOf(samples, size * 2);
+            }
+            samples[size++] = nanos;
+        }
+
+        synchronized long[] sorted() {
+            long[] copy = Arrays.copyOf(samples, size);
+            Arrays.sort(copy);
+            return copy;
+        }
+    }
+}
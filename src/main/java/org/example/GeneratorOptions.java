@@ -0,0 +1,278 @@
+package org.example;
+
+import java.nio.file.Path;
+
+/**
+ * Opt-in features of the generated code. Every option is off by default, so the output stays the same unless a
+ * flag asks for more; {@link #toString()} is part of the renderer fingerprint, so changing an option regenerates
+ * every table.
+ */
+public class GeneratorOptions {
+
+    private Target target = Target.JPA;
+    private Path typeMappings;
+    private boolean keysetPagination;
+    private String keysetColumn = "id";
+    private boolean batchWrites;
+    private int batchSize = 50;
+    private int allocationSize = 50;
+    private String sequenceName = "sequence_generator";
+    private boolean serviceCache;
+    private int cacheSize = 10_000;
+    private long cacheTtlSeconds = 600;
+    private boolean secondLevelCache;
+    private boolean projections;
+    private int fetchSize = 100;
+    private boolean export;
+    private boolean optimisticLocking;
+    private String versionColumn = "version";
+    private boolean timed;
+    private boolean loadTests;
+    private String testSourceRoot = "../../test/java";
+
+    public GeneratorOptions target(Target target) {
+        this.target = target;
+        return this;
+    }
+
+    /**
+     * File of {@code sqlType=java.type.Name} lines added to the {@link TypeRegistry#defaults() default} mappings.
+     */
+    public GeneratorOptions typeMappings(Path typeMappings) {
+        this.typeMappings = typeMappings;
+        return this;
+    }
+
+    /**
+     * Adds a count-free, cursor based {@code GET /keyset} endpoint next to the paged {@code GET} one.
+     */
+    public GeneratorOptions keysetPagination(boolean keysetPagination) {
+        this.keysetPagination = keysetPagination;
+        return this;
+    }
+
+    /**
+     * Changelog name of the column the keyset endpoint sorts and seeks on, with the id breaking ties. Tables without
+     * that column seek on the id alone.
+     */
+    public GeneratorOptions keysetColumn(String keysetColumn) {
+        this.keysetColumn = keysetColumn;
+        return this;
+    }
+
+    /**
+     * Adds {@code saveAll}/{@code updateAll} and the {@code /batch} endpoints, and gives the id generator an
+     * explicit pooled sequence so inserts need neither one sequence call nor one statement per row.
+     */
+    public GeneratorOptions batchWrites(boolean batchWrites) {
+        this.batchWrites = batchWrites;
+        return this;
+    }
+
+    /**
+     * Rows flushed per chunk by the batch methods; should equal {@code hibernate.jdbc.batch_size}.
+     */
+    public GeneratorOptions batchSize(int batchSize) {
+        this.batchSize = batchSize;
+        return this;
+    }
+
+    /**
+     * Ids reserved per sequence call; must equal the {@code incrementBy} of the Liquibase sequence.
+     */
+    public GeneratorOptions allocationSize(int allocationSize) {
+        this.allocationSize = allocationSize;
+        return this;
+    }
+
+    public GeneratorOptions sequenceName(String sequenceName) {
+        this.sequenceName = sequenceName;
+        return this;
+    }
+
+    /**
+     * Serves {@code findOne} from a bounded, expiring in-memory cache in the service, evicted by every write.
+     */
+    public GeneratorOptions serviceCache(boolean serviceCache) {
+        this.serviceCache = serviceCache;
+        return this;
+    }
+
+    public GeneratorOptions cacheSize(int cacheSize) {
+        this.cacheSize = cacheSize;
+        return this;
+    }
+
+    public GeneratorOptions cacheTtlSeconds(long cacheTtlSeconds) {
+        this.cacheTtlSeconds = cacheTtlSeconds;
+        return this;
+    }
+
+    /**
+     * Marks the entities cacheable in the Hibernate second-level cache.
+     */
+    public GeneratorOptions secondLevelCache(boolean secondLevelCache) {
+        this.secondLevelCache = secondLevelCache;
+        return this;
+    }
+
+    /**
+     * Serves the paged {@code GET} from a constructor expression into an immutable record instead of loading managed
+     * entities and mapping them.
+     */
+    public GeneratorOptions projections(boolean projections) {
+        this.projections = projections;
+        return this;
+    }
+
+    /**
+     * Rows the JDBC driver fetches per round trip while reading a projected page or the export stream.
+     */
+    public GeneratorOptions fetchSize(int fetchSize) {
+        this.fetchSize = fetchSize;
+        return this;
+    }
+
+    /**
+     * Versions the entities and updates them with one read and a dynamic, version checked {@code UPDATE}, instead of
+     * an existence check followed by a merge.
+     */
+    public GeneratorOptions optimisticLocking(boolean optimisticLocking) {
+        this.optimisticLocking = optimisticLocking;
+        return this;
+    }
+
+    /**
+     * Changelog name of the version column. A table without it gets a {@code version} field, whose column the
+     * changelog has to add.
+     */
+    public GeneratorOptions versionColumn(String versionColumn) {
+        this.versionColumn = versionColumn;
+        return this;
+    }
+
+    /**
+     * Adds a {@code GET /export} endpoint streaming every row as NDJSON or CSV from a database cursor.
+     */
+    public GeneratorOptions export(boolean export) {
+        this.export = export;
+        return this;
+    }
+
+    /**
+     * Times every service method and REST endpoint with Micrometer, tagged with the entity and the operation.
+     */
+    public GeneratorOptions timed(boolean timed) {
+        this.timed = timed;
+        return this;
+    }
+
+    /**
+     * Adds a test per table driving concurrent CRUD requests through the resource on an embedded database and
+     * reporting the throughput and latency percentiles of each operation.
+     */
+    public GeneratorOptions loadTests(boolean loadTests) {
+        this.loadTests = loadTests;
+        return this;
+    }
+
+    /**
+     * Directory of the generated tests, relative to the output directory; the default suits an output of
+     * {@code src/main/java}.
+     */
+    public GeneratorOptions testSourceRoot(String testSourceRoot) {
+        this.testSourceRoot = testSourceRoot;
+        return this;
+    }
+
+    public Target target() {
+        return target;
+    }
+
+    public Path typeMappings() {
+        return typeMappings;
+    }
+
+    public boolean keysetPagination() {
+        return keysetPagination;
+    }
+
+    public String keysetColumn() {
+        return keysetColumn;
+    }
+
+    public boolean batchWrites() {
+        return batchWrites;
+    }
+
+    public int batchSize() {
+        return batchSize;
+    }
+
+    public int allocationSize() {
+        return allocationSize;
+    }
+
+    public String sequenceName() {
+        return sequenceName;
+    }
+
+    public boolean serviceCache() {
+        return serviceCache;
+    }
+
+    public int cacheSize() {
+        return cacheSize;
+    }
+
+    public long cacheTtlSeconds() {
+        return cacheTtlSeconds;
+    }
+
+    public boolean secondLevelCache() {
+        return secondLevelCache;
+    }
+
+    public boolean projections() {
+        return projections;
+    }
+
+    public int fetchSize() {
+        return fetchSize;
+    }
+
+    public boolean export() {
+        return export;
+    }
+
+    public boolean optimisticLocking() {
+        return optimisticLocking;
+    }
+
+    public String versionColumn() {
+        return versionColumn;
+    }
+
+    public boolean timed() {
+        return timed;
+    }
+
+    public boolean loadTests() {
+        return loadTests;
+    }
+
+    public String testSourceRoot() {
+        return testSourceRoot;
+    }
+
+    @Override
+    public String toString() {
+        return "target=" + target + ", typeMappings=" + typeMappings
+                + ", keysetPagination=" + keysetPagination + ", keysetColumn=" + keysetColumn + ", batchWrites=" + batchWrites
+                + ", batchSize=" + batchSize + ", allocationSize=" + allocationSize + ", sequenceName=" + sequenceName
+                + ", serviceCache=" + serviceCache + ", cacheSize=" + cacheSize + ", cacheTtlSeconds=" + cacheTtlSeconds
+                + ", secondLevelCache=" + secondLevelCache + ", projections=" + projections + ", fetchSize=" + fetchSize
+                + ", export=" + export + ", optimisticLocking=" + optimisticLocking + ", versionColumn=" + versionColumn
+                + ", timed=" + timed + ", loadTests=" + loadTests + ", testSourceRoot=" + testSourceRoot;
+    }
+}
@@ -0,0 +1,72 @@
+package org.example;
+
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * {@link OutputSink} keeping the generated files in memory, sorted by path.
+ * <p>
+ * Meant for tests and for feeding the sources straight to the compiler API through {@link #javaFileObjects()}
+ * without touching the disk.
+ */
+public class InMemoryOutputSink implements OutputSink {
+
+    private final NavigableMap<String, String> files = new ConcurrentSkipListMap<>();
+
+    @Override
+    public CompletableFuture<Void> write(String relativePath, String content) {
+        files.put(relativePath, content);
+        return CompletableFuture.completedFuture(null);
+    }
+
+    /**
+     * The generated files by relative path; stays readable after the sink is closed.
+     */
+    public Map<String, String> files() {
+        return Collections.unmodifiableMap(files);
+    }
+
+    public String content(String relativePath) {
+        return files.get(relativePath);
+    }
+
+    /**
+     * The generated sources as compilation units for {@link javax.tools.JavaCompiler}.
+     */
+    public List<JavaFileObject> javaFileObjects() {
+        List<JavaFileObject> sources = new ArrayList<>(files.size());
+        for (Map.Entry<String, String> file : files.entrySet()) {
+            if (file.getKey().endsWith(JavaFileObject.Kind.SOURCE.extension)) {
+                sources.add(new Source(file.getKey(), file.getValue()));
+            }
+        }
+        return sources;
+    }
+
+    @Override
+    public void close() {
+    }
+
+    private static final class Source extends SimpleJavaFileObject {
+
+        private final String content;
+
+        private Source(String relativePath, String content) {
+            super(URI.create("string:///" + relativePath), Kind.SOURCE);
+            this.content = content;
+        }
+
+        @Override
+        public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+            return content;
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package org.example;
+
+import java.util.List;
+
+/**
+ * An index or unique constraint of a table, from {@code createIndex}, {@code addUniqueConstraint} or a
+ * {@code unique} column constraint. Column names are camel case, like those of {@link ColumnModel}.
+ *
+ * @param constraint whether it was declared as a unique constraint rather than as an index
+ */
+public record IndexModel(String name, List<String> columns, boolean unique, boolean constraint) {
+
+    public IndexModel {
+        columns = List.copyOf(columns);
+    }
+}
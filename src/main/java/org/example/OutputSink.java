@@ -0,0 +1,23 @@
+package org.example;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Destination of the generated files. Paths are relative to the source root, e.g.
+ * {@code com/example/domain/Customer.java}, and use {@code /} as separator.
+ * <p>
+ * Implementations must accept writes from several threads at once.
+ */
+public interface OutputSink extends AutoCloseable {
+
+    /**
+     * Stores the file, possibly asynchronously; the returned future completes once the file is stored.
+     */
+    CompletableFuture<Void> write(String relativePath, String content);
+
+    /**
+     * Finishes pending writes and releases the destination.
+     */
+    @Override
+    void close() throws Exception;
+}
@@ -0,0 +1,11 @@
+package org.example;
+
+/**
+ * A column of another table referencing a table, the owning side of the {@code @OneToMany} generated on the
+ * referenced table.
+ *
+ * @param table  the referencing table
+ * @param column the foreign key column of the referencing table, camel case
+ */
+public record RelationModel(String table, String column) {
+}
@@ -0,0 +1,338 @@
+package org.example;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.UnaryOperator;
+
+/**
+ * The changes of one or more changelogs, in the order they were read, and the tables they add up to.
+ * <p>
+ * Indexes and foreign keys may be declared by changes that come after the {@code createTable}, and a
+ * {@code @OneToMany} needs the foreign keys of every other table, so the tables can only be generated once the whole
+ * changelog is read. The changes are kept rather than applied on the spot so that the schemas of several changelogs
+ * can be {@link #addAll(SchemaModel) combined} without reading them again.
+ */
+public class SchemaModel {
+
+    private sealed interface Change
+            permits CreateTable, CreateIndex, AddForeignKey, DropTable, AddColumn, RenameColumn, DropColumn {
+    }
+
+    private record CreateTable(TableModel table) implements Change {
+    }
+
+    private record CreateIndex(String table, IndexModel index) implements Change {
+    }
+
+    private record AddForeignKey(String table, String column, String referencedTable) implements Change {
+    }
+
+    private record DropTable(String table) implements Change {
+    }
+
+    private record AddColumn(String table, ColumnModel column) implements Change {
+    }
+
+    private record RenameColumn(String table, String oldName, String newName) implements Change {
+    }
+
+    private record DropColumn(String table, String column) implements Change {
+    }
+
+    private final List<Change> changes = new ArrayList<>();
+
+    public void createTable(TableModel table) {
+        changes.add(new CreateTable(table));
+    }
+
+    public void createIndex(String table, IndexModel index) {
+        changes.add(new CreateIndex(table, index));
+    }
+
+    /**
+     * @param referencedTable the table whose id the column holds
+     */
+    public void addForeignKey(String table, String column, String referencedTable) {
+        changes.add(new AddForeignKey(table, column, referencedTable));
+    }
+
+    public void dropTable(String table) {
+        changes.add(new DropTable(table));
+    }
+
+    public void addColumn(String table, ColumnModel column) {
+        changes.add(new AddColumn(table, column));
+    }
+
+    public void renameColumn(String table, String oldName, String newName) {
+        changes.add(new RenameColumn(table, oldName, newName));
+    }
+
+    public void dropColumn(String table, String column) {
+        changes.add(new DropColumn(table, column));
+    }
+
+    public void addAll(SchemaModel other) {
+        changes.addAll(other.changes);
+    }
+
+    /**
+     * Appends the changes of the other schema from index {@code from}, inclusive, to {@code to}, exclusive.
+     */
+    public void addAll(SchemaModel other, int from, int to) {
+        changes.addAll(other.changes.subList(from, to));
+    }
+
+    /**
+     * The number of changes read so far.
+     */
+    public int size() {
+        return changes.size();
+    }
+
+    /**
+     * Applies the changes in order. Changes to a table that does not exist at that point are ignored, as are
+     * references to tables the schema does not define, since there would be no entity to map them to.
+     */
+    public List<TableModel> tables() {
+        Map<String, TableModel> tables = new LinkedHashMap<>();
+        for (Change change : changes) {
+            if (change instanceof CreateTable create) {
+                tables.put(create.table().name(), create.table());
+            } else if (change instanceof CreateIndex create) {
+                tables.computeIfPresent(create.table(), (name, table) -> withIndex(table, create.index()));
+            } else if (change instanceof AddForeignKey foreignKey) {
+                tables.computeIfPresent(foreignKey.table(), (name, table) ->
+                        withColumn(table, foreignKey.column(), column -> column.withReferences(foreignKey.referencedTable())));
+            } else if (change instanceof DropTable drop) {
+                tables.remove(drop.table());
+            } else if (change instanceof AddColumn add) {
+                tables.computeIfPresent(add.table(), (name, table) -> withAddedColumn(table, add.column()));
+            } else if (change instanceof RenameColumn rename) {
+                tables.computeIfPresent(rename.table(), (name, table) -> withRenamedColumn(table, rename.oldName(),
+                        rename.newName()));
+            } else if (change instanceof DropColumn drop) {
+                tables.computeIfPresent(drop.table(), (name, table) -> withoutColumn(table, drop.column()));
+            }
+        }
+
+        Map<String, List<RelationModel>> referencedBy = new LinkedHashMap<>();
+        for (TableModel table : tables.values()) {
+            for (ColumnModel column : table.columns()) {
+                if (column.references() != null && tables.containsKey(column.references())) {
+                    referencedBy.computeIfAbsent(column.references(), name -> new ArrayList<>())
+                            .add(new RelationModel(table.name(), column.name()));
+                }
+            }
+        }
+
+        List<TableModel> resolved = new ArrayList<>(tables.size());
+        for (TableModel table : tables.values()) {
+            List<ColumnModel> columns = new ArrayList<>(table.columns().size());
+            for (ColumnModel column : table.columns()) {
+                boolean known = column.references() == null || tables.containsKey(column.references());
+                columns.add(known ? column : column.withReferences(null));
+            }
+            resolved.add(new TableModel(table.name(), columns, table.indexes(),
+                    referencedBy.getOrDefault(table.name(), List.of())));
+        }
+        return resolved;
+    }
+
+    private static TableModel withIndex(TableModel table, IndexModel index) {
+        List<IndexModel> indexes = new ArrayList<>(table.indexes());
+        indexes.add(index);
+        return new TableModel(table.name(), table.columns(), indexes, table.referencedBy());
+    }
+
+    private static TableModel withColumn(TableModel table, String columnName, UnaryOperator<ColumnModel> change) {
+        List<ColumnModel> columns = new ArrayList<>(table.columns().size());
+        for (ColumnModel column : table.columns()) {
+            columns.add(column.name().equals(columnName) ? change.apply(column) : column);
+        }
+        return new TableModel(table.name(), columns, table.indexes(), table.referencedBy());
+    }
+
+    // A column the table already has is replaced, as the database would refuse to add it twice
+    private static TableModel withAddedColumn(TableModel table, ColumnModel added) {
+        List<ColumnModel> columns = new ArrayList<>(table.columns().size() + 1);
+        for (ColumnModel column : table.columns()) {
+            if (!column.name().equals(added.name())) {
+                columns.add(column);
+            }
+        }
+        columns.add(added);
+        return new TableModel(table.name(), columns, table.indexes(), table.referencedBy());
+    }
+
+    // The indexes follow the column, as they do in the database
+    private static TableModel withRenamedColumn(TableModel table, String oldName, String newName) {
+        List<ColumnModel> columns = new ArrayList<>(table.columns().size());
+        for (ColumnModel column : table.columns()) {
+            columns.add(column.name().equals(oldName) ? column.withName(newName) : column);
+        }
+        List<IndexModel> indexes = new ArrayList<>(table.indexes().size());
+        for (IndexModel index : table.indexes()) {
+            List<String> indexColumns = new ArrayList<>(index.columns().size());
+            for (String column : index.columns()) {
+                indexColumns.add(column.equals(oldName) ? newName : column);
+            }
+            indexes.add(new IndexModel(index.name(), indexColumns, index.unique(), index.constraint()));
+        }
+        return new TableModel(table.name(), columns, indexes, table.referencedBy());
+    }
+
+    // Dropping a column drops the indexes on it as well
+    private static TableModel withoutColumn(TableModel table, String columnName) {
+        List<ColumnModel> columns = new ArrayList<>(table.columns().size());
+        for (ColumnModel column : table.columns()) {
+            if (!column.name().equals(columnName)) {
+                columns.add(column);
+            }
+        }
+        List<IndexModel> indexes = new ArrayList<>(table.indexes().size());
+        for (IndexModel index : table.indexes()) {
+            if (!index.columns().contains(columnName)) {
+                indexes.add(index);
+            }
+        }
+        return new TableModel(table.name(), columns, indexes, table.referencedBy());
+    }
+
+    /**
+     * Writes the changes in the binary form {@link #read(DataInput)} reads back.
+     */
+    public void write(DataOutput out) throws IOException {
+        out.writeInt(changes.size());
+        for (Change change : changes) {
+            if (change instanceof CreateTable create) {
+                out.writeByte(0);
+                writeTable(out, create.table());
+            } else if (change instanceof CreateIndex create) {
+                out.writeByte(1);
+                out.writeUTF(create.table());
+                writeIndex(out, create.index());
+            } else if (change instanceof AddForeignKey foreignKey) {
+                out.writeByte(2);
+                out.writeUTF(foreignKey.table());
+                out.writeUTF(foreignKey.column());
+                out.writeUTF(foreignKey.referencedTable());
+            } else if (change instanceof DropTable drop) {
+                out.writeByte(3);
+                out.writeUTF(drop.table());
+            } else if (change instanceof AddColumn add) {
+                out.writeByte(4);
+                out.writeUTF(add.table());
+                writeColumn(out, add.column());
+            } else if (change instanceof RenameColumn rename) {
+                out.writeByte(5);
+                out.writeUTF(rename.table());
+                out.writeUTF(rename.oldName());
+                out.writeUTF(rename.newName());
+            } else if (change instanceof DropColumn drop) {
+                out.writeByte(6);
+                out.writeUTF(drop.table());
+                out.writeUTF(drop.column());
+            }
+        }
+    }
+
+    public static SchemaModel read(DataInput in) throws IOException {
+        SchemaModel schema = new SchemaModel();
+        int size = in.readInt();
+        for (int i = 0; i < size; i++) {
+            int kind = in.readByte();
+            switch (kind) {
+                case 0 -> schema.createTable(readTable(in));
+                case 1 -> schema.createIndex(in.readUTF(), readIndex(in));
+                case 2 -> schema.addForeignKey(in.readUTF(), in.readUTF(), in.readUTF());
+                case 3 -> schema.dropTable(in.readUTF());
+                case 4 -> schema.addColumn(in.readUTF(), readColumn(in));
+                case 5 -> schema.renameColumn(in.readUTF(), in.readUTF(), in.readUTF());
+                case 6 -> schema.dropColumn(in.readUTF(), in.readUTF());
+                default -> throw new IOException("Unknown change " + kind);
+            }
+        }
+        return schema;
+    }
+
+    // The relations pointing at a table are only known once every table is, a change never has any
+    private static void writeTable(DataOutput out, TableModel table) throws IOException {
+        out.writeUTF(table.name());
+        out.writeInt(table.columns().size());
+        for (ColumnModel column : table.columns()) {
+            writeColumn(out, column);
+        }
+        out.writeInt(table.indexes().size());
+        for (IndexModel index : table.indexes()) {
+            writeIndex(out, index);
+        }
+    }
+
+    private static TableModel readTable(DataInput in) throws IOException {
+        String name = in.readUTF();
+        List<ColumnModel> columns = new ArrayList<>();
+        for (int i = in.readInt(); i > 0; i--) {
+            columns.add(readColumn(in));
+        }
+        List<IndexModel> indexes = new ArrayList<>();
+        for (int i = in.readInt(); i > 0; i--) {
+            indexes.add(readIndex(in));
+        }
+        return new TableModel(name, columns, indexes, List.of());
+    }
+
+    private static void writeColumn(DataOutput out, ColumnModel column) throws IOException {
+        out.writeUTF(column.name());
+        writeNullable(out, column.type());
+        out.writeInt(column.size() == null ? -1 : column.size());
+        out.writeInt(column.scale() == null ? -1 : column.scale());
+        out.writeBoolean(column.nullable());
+        out.writeBoolean(column.unique());
+        writeNullable(out, column.references());
+    }
+
+    private static ColumnModel readColumn(DataInput in) throws IOException {
+        String name = in.readUTF();
+        String type = readNullable(in);
+        int size = in.readInt();
+        int scale = in.readInt();
+        return new ColumnModel(name, type, size < 0 ? null : size, scale < 0 ? null : scale, in.readBoolean(),
+                in.readBoolean(), readNullable(in));
+    }
+
+    private static void writeIndex(DataOutput out, IndexModel index) throws IOException {
+        writeNullable(out, index.name());
+        out.writeInt(index.columns().size());
+        for (String column : index.columns()) {
+            out.writeUTF(column);
+        }
+        out.writeBoolean(index.unique());
+        out.writeBoolean(index.constraint());
+    }
+
+    private static IndexModel readIndex(DataInput in) throws IOException {
+        String name = readNullable(in);
+        List<String> columns = new ArrayList<>();
+        for (int i = in.readInt(); i > 0; i--) {
+            columns.add(in.readUTF());
+        }
+        return new IndexModel(name, columns, in.readBoolean(), in.readBoolean());
+    }
+
+    private static void writeNullable(DataOutput out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readNullable(DataInput in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+}
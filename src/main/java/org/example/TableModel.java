@@ -0,0 +1,23 @@
+package org.example;
+
+import java.util.List;
+
+/**
+ * Everything the generator needs to know about one {@code createTable} change, together with the indexes and
+ * foreign keys later changes added to it.
+ *
+ * @param referencedBy the foreign keys of other tables pointing at this one
+ */
+public record TableModel(String name, List<ColumnModel> columns, List<IndexModel> indexes,
+                         List<RelationModel> referencedBy) {
+
+    public TableModel {
+        columns = List.copyOf(columns);
+        indexes = List.copyOf(indexes);
+        referencedBy = List.copyOf(referencedBy);
+    }
+
+    public TableModel(String name, List<ColumnModel> columns) {
+        this(name, columns, List.of(), List.of());
+    }
+}
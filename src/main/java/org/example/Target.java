@@ -0,0 +1,29 @@
+package org.example;
+
+import java.util.Locale;
+
+/**
+ * The stack the generated code is written for. Each target has its own template set; a template it does not define
+ * is taken from the {@link #JPA} set, which is why the reactive set has no DTO of its own.
+ */
+public enum Target {
+    JPA(""),
+    REACTIVE("reactive/");
+
+    private final String templateDirectory;
+
+    Target(String templateDirectory) {
+        this.templateDirectory = templateDirectory;
+    }
+
+    /**
+     * Path of the target's templates relative to the template root, empty or ending with a slash.
+     */
+    public String templateDirectory() {
+        return templateDirectory;
+    }
+
+    public static Target of(String name) {
+        return valueOf(name.toUpperCase(Locale.ROOT));
+    }
+}
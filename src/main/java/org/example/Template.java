@@ -0,0 +1,185 @@
+package org.example;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A template compiled once into a flat list of segments and rendered many times.
+ * <p>
+ * The syntax is a small subset of Mustache: {@code {{name}}} inserts a value, {@code {{#name}}...{{/name}}}
+ * renders its body once for {@code true} or once per element of a list, {@code {{^name}}...{{/name}}} renders its
+ * body when the value is missing, {@code false} or empty, and {@code {{! ...}}} is a comment. A section or comment
+ * tag alone on its line removes the whole line, so templates can be laid out like the code they produce. Nothing
+ * is escaped, the output is Java source.
+ */
+public final class Template {
+
+    private static final String OPEN = "{{";
+    private static final String CLOSE = "}}";
+
+    private final String name;
+    private final Segment[] segments;
+    private volatile int sizeHint;
+
+    private Template(String name, Segment[] segments, int sizeHint) {
+        this.name = name;
+        this.segments = segments;
+        this.sizeHint = sizeHint;
+    }
+
+    public static Template compile(String name, String source) {
+        Deque<Section> sections = new ArrayDeque<>();
+        Deque<List<Segment>> bodies = new ArrayDeque<>();
+        bodies.push(new ArrayList<>());
+        int literalLength = 0;
+        int position = 0;
+
+        while (position < source.length()) {
+            int open = source.indexOf(OPEN, position);
+            if (open < 0) {
+                bodies.peek().add(new Literal(source.substring(position)));
+                literalLength += source.length() - position;
+                break;
+            }
+            int close = source.indexOf(CLOSE, open + OPEN.length());
+            if (close < 0) {
+                throw new IllegalArgumentException("Unclosed tag at offset " + open + " of template " + name);
+            }
+
+            String tag = source.substring(open + OPEN.length(), close).trim();
+            char kind = tag.isEmpty() ? ' ' : tag.charAt(0);
+            boolean standalone = kind == '#' || kind == '^' || kind == '/' || kind == '!';
+            int literalEnd = open;
+            int next = close + CLOSE.length();
+
+            if (standalone) {
+                int lineStart = source.lastIndexOf('\n', open - 1) + 1;
+                int lineEnd = source.indexOf('\n', next);
+                if (lineEnd < 0) {
+                    lineEnd = source.length() - 1;
+                }
+                if (source.substring(lineStart, open).isBlank() && source.substring(next, lineEnd + 1).isBlank()) {
+                    literalEnd = Math.max(lineStart, position);
+                    next = lineEnd + 1;
+                }
+            }
+
+            if (literalEnd > position) {
+                bodies.peek().add(new Literal(source.substring(position, literalEnd)));
+                literalLength += literalEnd - position;
+            }
+            position = next;
+
+            switch (kind) {
+                case '!' -> { }
+                case '#', '^' -> {
+                    sections.push(new Section(tag.substring(1).trim(), kind == '^', null));
+                    bodies.push(new ArrayList<>());
+                }
+                case '/' -> {
+                    String key = tag.substring(1).trim();
+                    if (sections.isEmpty() || !sections.peek().key().equals(key)) {
+                        throw new IllegalArgumentException("Unexpected {{/" + key + "}} in template " + name);
+                    }
+                    Section started = sections.pop();
+                    Segment[] body = bodies.pop().toArray(new Segment[0]);
+                    bodies.peek().add(new Section(started.key(), started.inverted(), body));
+                }
+                default -> bodies.peek().add(new Variable(tag));
+            }
+        }
+
+        if (!sections.isEmpty()) {
+            throw new IllegalArgumentException("Unclosed {{#" + sections.peek().key() + "}} in template " + name);
+        }
+        return new Template(name, bodies.pop().toArray(new Segment[0]), literalLength + literalLength / 4);
+    }
+
+    public String name() {
+        return name;
+    }
+
+    /**
+     * Renders into a buffer presized from the largest output of this template so far.
+     */
+    public String render(TemplateScope scope) {
+        StringBuilder out = new StringBuilder(sizeHint);
+        try {
+            render(segments, scope, out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // StringBuilder never throws
+        }
+        if (out.length() > sizeHint) {
+            sizeHint = out.length();
+        }
+        return out.toString();
+    }
+
+    public void render(TemplateScope scope, Appendable out) throws IOException {
+        render(segments, scope, out);
+    }
+
+    private void render(Segment[] body, TemplateScope scope, Appendable out) throws IOException {
+        for (Segment segment : body) {
+            if (segment instanceof Literal literal) {
+                out.append(literal.text());
+            } else if (segment instanceof Variable variable) {
+                Object value = scope.get(variable.key());
+                if (value == null) {
+                    throw new IllegalArgumentException("Unknown variable '" + variable.key() + "' in template " + name);
+                }
+                out.append(value.toString());
+            } else if (segment instanceof Section section) {
+                renderSection(section, scope, out);
+            }
+        }
+    }
+
+    private void renderSection(Section section, TemplateScope scope, Appendable out) throws IOException {
+        Object value = scope.get(section.key());
+        boolean empty = value == null || Boolean.FALSE.equals(value)
+                || (value instanceof Iterable<?> iterable && !iterable.iterator().hasNext());
+
+        if (section.inverted()) {
+            if (empty) {
+                render(section.body(), scope, out);
+            }
+        } else if (!empty) {
+            if (value instanceof Iterable<?> iterable) {
+                for (Object element : iterable) {
+                    render(section.body(), elementScope(scope, element), out);
+                }
+            } else {
+                render(section.body(), scope, out);
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static TemplateScope elementScope(TemplateScope scope, Object element) {
+        if (element instanceof TemplateScope elementScope) {
+            return elementScope;
+        }
+        if (element instanceof Map<?, ?> values) {
+            return scope.child((Map<String, Object>) values);
+        }
+        return scope.child(Map.of(".", element));
+    }
+
+    private sealed interface Segment permits Literal, Variable, Section {
+    }
+
+    private record Literal(String text) implements Segment {
+    }
+
+    private record Variable(String key) implements Segment {
+    }
+
+    private record Section(String key, boolean inverted, Segment[] body) implements Segment {
+    }
+}
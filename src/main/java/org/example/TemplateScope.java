@@ -0,0 +1,36 @@
+package org.example;
+
+import java.util.Map;
+
+/**
+ * The values visible to a {@link Template}. Lookups fall back to the enclosing scope, so the body of a
+ * {@code {{#columns}}} section sees both the column and the table values.
+ */
+public final class TemplateScope {
+
+    private final Map<String, Object> values;
+    private final TemplateScope parent;
+
+    public TemplateScope(Map<String, Object> values) {
+        this(values, null);
+    }
+
+    private TemplateScope(Map<String, Object> values, TemplateScope parent) {
+        this.values = values;
+        this.parent = parent;
+    }
+
+    public TemplateScope child(Map<String, Object> childValues) {
+        return new TemplateScope(childValues, this);
+    }
+
+    public Object get(String key) {
+        for (TemplateScope scope = this; scope != null; scope = scope.parent) {
+            Object value = scope.values.get(key);
+            if (value != null) {
+                return value;
+            }
+        }
+        return null;
+    }
+}
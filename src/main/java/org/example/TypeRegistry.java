@@ -0,0 +1,144 @@
+package org.example;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Maps the base SQL types of a changelog, e.g. {@code varchar} or {@code decimal}, to the Java types of the generated
+ * fields.
+ * <p>
+ * {@link #defaults()} knows the types Liquibase and the common databases use; {@link #register(String, JavaType)} and
+ * {@link #load(Path)} add or replace mappings. Types the registry does not know stay {@code String}, as they always
+ * were.
+ */
+public class TypeRegistry {
+
+    /**
+     * How the size of a declared type, {@code varchar(255)} or {@code decimal(19,2)}, applies to the column.
+     */
+    public enum Sizing {
+        NONE, LENGTH, PRECISION
+    }
+
+    /**
+     * @param name          simple name used in the generated code
+     * @param qualifiedName name to import, or {@code null} for {@code java.lang} types and arrays
+     * @param primitive     primitive used for a NOT NULL entity field, or {@code null} when there is none
+     * @param parser        expression turning a string into the type, e.g. {@code Long.valueOf}, or {@code null}
+     * @param lob           whether the entity field needs {@code @Lob}
+     */
+    public record JavaType(String name, String qualifiedName, String primitive, String parser, Sizing sizing, boolean lob) {
+    }
+
+    private static final JavaType STRING = new JavaType("String", null, null, "", Sizing.LENGTH, false);
+    private static final JavaType TEXT = new JavaType("String", null, null, "", Sizing.NONE, false);
+    private static final JavaType CLOB = new JavaType("String", null, null, "", Sizing.NONE, true);
+    private static final JavaType BYTE = new JavaType("Byte", null, "byte", "Byte.valueOf", Sizing.NONE, false);
+    private static final JavaType SHORT = new JavaType("Short", null, "short", "Short.valueOf", Sizing.NONE, false);
+    private static final JavaType INTEGER = new JavaType("Integer", null, "int", "Integer.valueOf", Sizing.NONE, false);
+    private static final JavaType LONG = new JavaType("Long", null, "long", "Long.valueOf", Sizing.NONE, false);
+    private static final JavaType FLOAT = new JavaType("Float", null, "float", "Float.valueOf", Sizing.NONE, false);
+    private static final JavaType DOUBLE = new JavaType("Double", null, "double", "Double.valueOf", Sizing.NONE, false);
+    private static final JavaType BOOLEAN = new JavaType("Boolean", null, "boolean", "Boolean.valueOf", Sizing.NONE, false);
+    private static final JavaType BIG_DECIMAL =
+            new JavaType("BigDecimal", "java.math.BigDecimal", null, "new BigDecimal", Sizing.PRECISION, false);
+    private static final JavaType LOCAL_DATE =
+            new JavaType("LocalDate", "java.time.LocalDate", null, "LocalDate.parse", Sizing.NONE, false);
+    private static final JavaType LOCAL_TIME =
+            new JavaType("LocalTime", "java.time.LocalTime", null, "LocalTime.parse", Sizing.NONE, false);
+    private static final JavaType LOCAL_DATE_TIME =
+            new JavaType("LocalDateTime", "java.time.LocalDateTime", null, "LocalDateTime.parse", Sizing.NONE, false);
+    private static final JavaType OFFSET_DATE_TIME =
+            new JavaType("OffsetDateTime", "java.time.OffsetDateTime", null, "OffsetDateTime.parse", Sizing.NONE, false);
+    private static final JavaType UUID = new JavaType("UUID", "java.util.UUID", null, "UUID.fromString", Sizing.NONE, false);
+    private static final JavaType BYTES = new JavaType("byte[]", null, null, null, Sizing.LENGTH, false);
+    private static final JavaType BLOB = new JavaType("byte[]", null, null, null, Sizing.NONE, true);
+
+    private static final List<JavaType> BUILT_IN = List.of(STRING, BYTE, SHORT, INTEGER, LONG, FLOAT, DOUBLE, BOOLEAN,
+            BIG_DECIMAL, LOCAL_DATE, LOCAL_TIME, LOCAL_DATE_TIME, OFFSET_DATE_TIME, UUID, BYTES);
+
+    private final Map<String, JavaType> types = new TreeMap<>();
+
+    public static TypeRegistry defaults() {
+        TypeRegistry registry = new TypeRegistry();
+        registry.register(STRING, "varchar", "varchar2", "nvarchar", "nvarchar2", "char", "nchar", "character",
+                "character varying", "string");
+        registry.register(TEXT, "text", "tinytext", "mediumtext", "longtext", "json", "jsonb", "xml");
+        registry.register(CLOB, "clob", "nclob");
+        registry.register(BYTE, "tinyint");
+        registry.register(SHORT, "smallint", "int2");
+        registry.register(INTEGER, "int", "integer", "int4", "mediumint", "serial");
+        registry.register(LONG, "bigint", "int8", "long", "bigserial");
+        registry.register(FLOAT, "float", "real", "float4");
+        registry.register(DOUBLE, "double", "double precision", "float8");
+        registry.register(BOOLEAN, "boolean", "bool", "bit");
+        registry.register(BIG_DECIMAL, "decimal", "numeric", "number", "money", "currency");
+        registry.register(LOCAL_DATE, "date");
+        registry.register(LOCAL_TIME, "time");
+        registry.register(LOCAL_DATE_TIME, "timestamp", "timestamp without time zone", "datetime", "datetime2",
+                "smalldatetime");
+        registry.register(OFFSET_DATE_TIME, "timestamptz", "timestamp with time zone", "datetimeoffset");
+        registry.register(UUID, "uuid", "uniqueidentifier");
+        registry.register(BYTES, "binary", "varbinary");
+        registry.register(BLOB, "blob", "tinyblob", "mediumblob", "longblob", "bytea", "image");
+        return registry;
+    }
+
+    private void register(JavaType javaType, String... sqlTypes) {
+        for (String sqlType : sqlTypes) {
+            register(sqlType, javaType);
+        }
+    }
+
+    public void register(String sqlType, JavaType javaType) {
+        types.put(sqlType.toLowerCase(Locale.ROOT), javaType);
+    }
+
+    /**
+     * Reads {@code sqlType=java.type.Name} lines, {@code #} starting a comment. A Java type the registry already
+     * knows keeps its primitive and parser, any other class is used as is.
+     */
+    public void load(Path mappings) throws IOException {
+        for (String line : Files.readAllLines(mappings, StandardCharsets.UTF_8)) {
+            line = line.strip();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            int separator = line.indexOf('=');
+            if (separator < 0) {
+                throw new IOException("Invalid type mapping, expected sqlType=java.type.Name : " + line);
+            }
+            register(line.substring(0, separator).strip(), resolve(line.substring(separator + 1).strip()));
+        }
+    }
+
+    private static JavaType resolve(String qualifiedName) {
+        for (JavaType builtIn : BUILT_IN) {
+            if (qualifiedName.equals(builtIn.qualifiedName()) || qualifiedName.equals("java.lang." + builtIn.name())
+                    || qualifiedName.equals(builtIn.name())) {
+                return builtIn;
+            }
+        }
+        int dot = qualifiedName.lastIndexOf('.');
+        boolean imported = dot > 0 && !qualifiedName.startsWith("java.lang.");
+        return new JavaType(qualifiedName.substring(dot + 1), imported ? qualifiedName : null, null, null, Sizing.NONE, false);
+    }
+
+    /**
+     * @param sqlType the base type, without size, e.g. {@code decimal}
+     */
+    public JavaType javaType(String sqlType) {
+        return sqlType == null ? TEXT : types.getOrDefault(sqlType.toLowerCase(Locale.ROOT), TEXT);
+    }
+
+    @Override
+    public String toString() {
+        return types.toString();
+    }
+}
@@ -0,0 +1,81 @@
+package org.example;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.jar.JarOutputStream;
+import java.util.jar.Manifest;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * {@link OutputSink} collecting the generated files into a single zip archive, or a jar when the file name ends
+ * with {@code .jar}.
+ * <p>
+ * Nothing is streamed: every file is kept in memory until the sink is closed, and only then compressed and written,
+ * on the closing thread, in the order of the paths. The archive therefore needs as much heap as the uncompressed
+ * sources of the whole schema. In exchange, together with the fixed timestamp of every entry, the archive of an
+ * unchanged schema is the same byte for byte, whatever order the worker threads finished in.
+ */
+public class ZipOutputSink implements OutputSink {
+
+    // 1980-01-01, the earliest time a zip entry can hold
+    private static final long ENTRY_TIME = 315532800000L;
+
+    private final ZipOutputStream out;
+    private final NavigableMap<String, byte[]> entries = new ConcurrentSkipListMap<>();
+
+    public ZipOutputSink(Path archive) throws IOException {
+        this(openArchive(archive), archive.getFileName().toString().endsWith(".jar"));
+    }
+
+    /**
+     * Writes the archive to any output, e.g. a socket or a pipe to the next build step, once the sink is closed.
+     */
+    public ZipOutputSink(OutputStream archive, boolean jar) throws IOException {
+        OutputStream buffered = new BufferedOutputStream(archive, 1 << 16);
+        if (jar) {
+            Manifest manifest = new Manifest();
+            manifest.getMainAttributes().putValue("Manifest-Version", "1.0");
+            this.out = new JarOutputStream(buffered, manifest);
+        } else {
+            this.out = new ZipOutputStream(buffered);
+        }
+    }
+
+    private static OutputStream openArchive(Path archive) throws IOException {
+        Path parent = archive.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        return Files.newOutputStream(archive);
+    }
+
+    @Override
+    public CompletableFuture<Void> write(String relativePath, String content) {
+        entries.put(relativePath, content.getBytes(StandardCharsets.UTF_8));
+        return CompletableFuture.completedFuture(null);
+    }
+
+    @Override
+    public void close() throws IOException {
+        try (ZipOutputStream archive = out) {
+            for (Map.Entry<String, byte[]> file : entries.entrySet()) {
+                ZipEntry entry = new ZipEntry(file.getKey());
+                entry.setTime(ENTRY_TIME);
+                archive.putNextEntry(entry);
+                archive.write(file.getValue());
+                archive.closeEntry();
+            }
+        } finally {
+            entries.clear();
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ChangelogTreeTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void includesAreSplicedWhereTheyAppear() throws Exception {
+        Path master = changelog("master.xml", """
+                <include file="first.xml" relativeToChangelogFile="true"/>
+                <changeSet id="1" author="test">
+                    <createTable tableName="master_table"><column name="name" type="varchar(50)"/></createTable>
+                </changeSet>
+                <includeAll path="all/" relativeToChangelogFile="true"/>
+                <changeSet id="2" author="test">
+                    <createTable tableName="last_table"><column name="name" type="varchar(50)"/></createTable>
+                </changeSet>
+                """);
+        changelog("first.xml", createTable("first_table"));
+        // Written out of order, includeAll applies them in the order of their paths
+        changelog("all/sub/3_third.xml", createTable("third_table"));
+        changelog("all/2_second.xml", """
+                <changeSet id="1" author="test">
+                    <createTable tableName="second_table"><column name="name" type="varchar(50)"/></createTable>
+                </changeSet>
+                <include file="nested.xml" relativeToChangelogFile="true"/>
+                """);
+        changelog("all/nested.xml", createTable("nested_table"));
+
+        assertEquals(List.of("firstTable", "masterTable", "secondTable", "nestedTable", "thirdTable", "lastTable"),
+                tableNames(new ChangelogTree(new ChangelogReader(), null, 4).read(master)));
+    }
+
+    @Test
+    void fileIncludedTwiceIsOnlyAppliedWhereItIsFirstIncluded() throws Exception {
+        Path master = changelog("master.xml", """
+                <include file="customer.xml" relativeToChangelogFile="true"/>
+                <changeSet id="1" author="test">
+                    <dropTable tableName="customer"/>
+                    <createTable tableName="master_table"><column name="name" type="varchar(50)"/></createTable>
+                </changeSet>
+                <include file="customer.xml" relativeToChangelogFile="true"/>
+                """);
+        changelog("customer.xml", createTable("customer") + """
+                <include file="master.xml" relativeToChangelogFile="true"/>
+                """);
+
+        assertEquals(List.of("masterTable"),
+                tableNames(new ChangelogTree(new ChangelogReader(), null, 4).read(master)));
+    }
+
+    @Test
+    void pathsAreResolvedRelativeToTheChangelogOrFromTheSearchPath() throws Exception {
+        Path master = changelog("src/main/resources/config/liquibase/master.xml", """
+                <include file="config/liquibase/changelog/searched.xml" relativeToChangelogFile="false"/>
+                <include file="changelog/relative.xml" relativeToChangelogFile="true"/>
+                <include file="changelog/missing.xml" relativeToChangelogFile="true" errorIfMissing="false"/>
+                """);
+        changelog("src/main/resources/config/liquibase/changelog/searched.xml", createTable("searched_table"));
+        changelog("src/main/resources/config/liquibase/changelog/relative.xml", """
+                <include file="classpath:config/liquibase/changelog/other/classpath.xml"/>
+                """);
+        changelog("src/main/resources/config/liquibase/changelog/other/classpath.xml", createTable("classpath_table"));
+
+        assertEquals(List.of("searchedTable", "classpathTable"),
+                tableNames(new ChangelogTree(new ChangelogReader(), null, 4).read(master)));
+    }
+
+    @Test
+    void changesApplyToTablesCreatedInOtherFiles() throws Exception {
+        Path master = changelog("master.xml", """
+                <include file="001_create.xml" relativeToChangelogFile="true"/>
+                <include file="002_change.xml" relativeToChangelogFile="true"/>
+                """);
+        changelog("001_create.xml", """
+                <changeSet id="1" author="test">
+                    <createTable tableName="customer">
+                        <column name="first_name" type="varchar(50)"/>
+                        <column name="legacy_code" type="varchar(10)"/>
+                    </createTable>
+                    <createTable tableName="scratch"><column name="x" type="int"/></createTable>
+                </changeSet>
+                """);
+        changelog("002_change.xml", """
+                <changeSet id="2" author="test">
+                    <renameColumn tableName="customer" oldColumnName="first_name" newColumnName="given_name"/>
+                    <addColumn tableName="customer"><column name="email" type="varchar(120)"/></addColumn>
+                    <dropColumn tableName="customer" columnName="legacy_code"/>
+                    <dropTable tableName="scratch"/>
+                </changeSet>
+                """);
+
+        List<TableModel> tables = new ChangelogTree(new ChangelogReader(), null, 4).read(master).tables();
+
+        assertEquals(List.of("customer"), tableNames(tables));
+        assertEquals(List.of("givenName", "email"),
+                tables.get(0).columns().stream().map(ColumnModel::name).toList());
+    }
+
+    @Test
+    void cachedChangelogsGiveTheSameTablesAsParsedOnes() throws Exception {
+        Path master = changelog("master.xml", """
+                <include file="customer.xml" relativeToChangelogFile="true"/>
+                <changeSet id="1" author="test">
+                    <addColumn tableName="customer"><column name="email" type="varchar(120)"/></addColumn>
+                    <createIndex tableName="customer" indexName="idx_email"><column name="email"/></createIndex>
+                </changeSet>
+                <includeAll path="more/" relativeToChangelogFile="true"/>
+                """);
+        changelog("customer.xml", createTable("customer"));
+        changelog("more/order.xml", """
+                <changeSet id="1" author="test">
+                    <createTable tableName="purchase">
+                        <column name="customer_id" type="bigint"><constraints references="customer(id)"/></column>
+                    </createTable>
+                </changeSet>
+                """);
+        Path output = directory.resolve("output");
+        ChangelogCache cache = ChangelogCache.load(output);
+        new ChangelogTree(new ChangelogReader(), cache, 4).read(master);
+        cache.save();
+
+        ChangelogTree cached = new ChangelogTree(new ChangelogReader(), ChangelogCache.load(output), 4);
+        List<TableModel> tables = cached.read(master).tables();
+
+        assertEquals(0, cached.parsedFiles());
+        assertEquals(3, cached.cachedFiles());
+        assertEquals(new ChangelogTree(new ChangelogReader(), null, 4).read(master).tables(), tables);
+    }
+
+    private Path changelog(String path, String content) throws Exception {
+        Path file = directory.resolve(path);
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, """
+                <?xml version="1.0" encoding="utf-8"?>
+                <databaseChangeLog xmlns="http://www.liquibase.org/xml/ns/dbchangelog">
+                """ + content + "</databaseChangeLog>\n");
+        return file;
+    }
+
+    private static String createTable(String tableName) {
+        return """
+                <changeSet id="1" author="test">
+                    <createTable tableName="%s"><column name="name" type="varchar(50)"/></createTable>
+                </changeSet>
+                """.formatted(tableName);
+    }
+
+    private static List<String> tableNames(SchemaModel schema) {
+        return tableNames(schema.tables());
+    }
+
+    private static List<String> tableNames(List<TableModel> tables) {
+        return tables.stream().map(TableModel::name).toList();
+    }
+}
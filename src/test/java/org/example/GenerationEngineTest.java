@@ -0,0 +1,30 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GenerationEngineTest {
+
+    @Test
+    void tableThatCannotBeModelledFailsWithoutBlockingClose() throws Exception {
+        InMemoryOutputSink sink = new InMemoryOutputSink();
+        GenerationEngine engine = new GenerationEngine("com.example", sink, null, ArtifactRenderer.load(), 1);
+
+        // Fewer permits than tables, so a leaked permit would block the later calls as well
+        for (int i = 0; i < 8; i++) {
+            engine.generateFiles(new TableModel("", List.of(new ColumnModel("name", "varchar"))));
+        }
+        engine.generateFiles(new TableModel("customer", List.of(new ColumnModel("name", "varchar"))));
+
+        assertTimeoutPreemptively(Duration.ofSeconds(30), engine::close);
+        assertEquals(8, engine.metrics().failures().size());
+        assertEquals(1, engine.metrics().generatedTables());
+        assertTrue(sink.files().keySet().stream().anyMatch(path -> path.endsWith("customer.java")));
+    }
+}
@@ -0,0 +1,34 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+class ZipOutputSinkTest {
+
+    @Test
+    void sameSchemaGivesSameArchiveWhateverTheThreadScheduling() throws Exception {
+        List<TableModel> tables = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            tables.add(new TableModel("table_" + i, List.of(new ColumnModel("name", "varchar"),
+                    new ColumnModel("amount", "decimal"))));
+        }
+
+        assertArrayEquals(generate(tables), generate(tables));
+    }
+
+    private static byte[] generate(List<TableModel> tables) throws Exception {
+        ByteArrayOutputStream archive = new ByteArrayOutputStream();
+        try (GenerationEngine engine = new GenerationEngine("com.example", new ZipOutputSink(archive, false), null,
+                ArtifactRenderer.load(), 8)) {
+            for (TableModel table : tables) {
+                engine.generateFiles(table);
+            }
+        }
+        return archive.toByteArray();
+    }
+}